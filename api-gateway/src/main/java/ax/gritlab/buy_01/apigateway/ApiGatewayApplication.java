@@ -1,9 +1,19 @@
 package ax.gritlab.buy_01.apigateway;
 
+import ax.gritlab.buy_01.apigateway.config.ProductDetailProperties;
+import ax.gritlab.buy_01.apigateway.config.RateLimitProperties;
+import ax.gritlab.buy_01.apigateway.config.RequestCoalescingProperties;
+import ax.gritlab.buy_01.apigateway.config.ResponseCacheProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 
 @SpringBootApplication
+@EnableConfigurationProperties({
+        ResponseCacheProperties.class,
+        RequestCoalescingProperties.class,
+        ProductDetailProperties.class,
+        RateLimitProperties.class })
 public class ApiGatewayApplication {
     public static void main(String[] args) {
         SpringApplication.run(ApiGatewayApplication.class, args);
@@ -0,0 +1,77 @@
+package ax.gritlab.buy_01.apigateway.cache;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * The subset of a downstream {@code Cache-Control} header the gateway cache honors.
+ */
+public record CacheDirectives(
+        boolean noStore,
+        boolean isPrivate,
+        boolean noCache,
+        Duration maxAge,
+        Duration sharedMaxAge,
+        Duration staleWhileRevalidate) {
+
+    private static final CacheDirectives NONE = new CacheDirectives(false, false, false, null, null, null);
+
+    public static CacheDirectives parse(String cacheControl) {
+        if (cacheControl == null || cacheControl.isBlank()) {
+            return NONE;
+        }
+        boolean noStore = false;
+        boolean isPrivate = false;
+        boolean noCache = false;
+        Duration maxAge = null;
+        Duration sharedMaxAge = null;
+        Duration staleWhileRevalidate = null;
+
+        for (String part : cacheControl.split(",")) {
+            String directive = part.trim().toLowerCase(Locale.ROOT);
+            if (directive.equals("no-store")) {
+                noStore = true;
+            } else if (directive.startsWith("private")) {
+                isPrivate = true;
+            } else if (directive.startsWith("no-cache")) {
+                noCache = true;
+            } else if (directive.startsWith("max-age=")) {
+                maxAge = seconds(directive.substring("max-age=".length()));
+            } else if (directive.startsWith("s-maxage=")) {
+                sharedMaxAge = seconds(directive.substring("s-maxage=".length()));
+            } else if (directive.startsWith("stale-while-revalidate=")) {
+                staleWhileRevalidate = seconds(directive.substring("stale-while-revalidate=".length()));
+            }
+        }
+        return new CacheDirectives(noStore, isPrivate, noCache, maxAge, sharedMaxAge, staleWhileRevalidate);
+    }
+
+    /**
+     * Whether a shared cache may keep the response at all.
+     */
+    public boolean isStorable() {
+        return !noStore && !isPrivate && !noCache;
+    }
+
+    /**
+     * Freshness lifetime for a shared cache, falling back to {@code defaultTtl}.
+     */
+    public Duration ttl(Duration defaultTtl) {
+        if (sharedMaxAge != null) {
+            return sharedMaxAge;
+        }
+        return maxAge != null ? maxAge : defaultTtl;
+    }
+
+    public Duration staleWhileRevalidate(Duration defaultWindow) {
+        return staleWhileRevalidate != null ? staleWhileRevalidate : defaultWindow;
+    }
+
+    private static Duration seconds(String value) {
+        try {
+            return Duration.ofSeconds(Long.parseLong(value.replace("\"", "").trim()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
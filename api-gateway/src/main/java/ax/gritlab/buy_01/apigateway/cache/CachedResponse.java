@@ -0,0 +1,30 @@
+package ax.gritlab.buy_01.apigateway.cache;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * A buffered upstream response held by the gateway.
+ * {@code freshUntil} and {@code staleUntil} are epoch millis; between the two the entry
+ * may still be served while a background request refreshes it.
+ */
+public record CachedResponse(
+        int status,
+        HttpHeaders headers,
+        byte[] body,
+        String etag,
+        long storedAt,
+        long freshUntil,
+        long staleUntil) {
+
+    public boolean isFresh(long now) {
+        return now < freshUntil;
+    }
+
+    public boolean isServableWhileRevalidating(long now) {
+        return now < staleUntil;
+    }
+
+    public long ageSeconds(long now) {
+        return Math.max(0, (now - storedAt) / 1000);
+    }
+}
@@ -0,0 +1,84 @@
+package ax.gritlab.buy_01.apigateway.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Purges cached catalog responses when product-service reports a change, and cached images when
+ * media-service deletes them. Every gateway instance uses its own consumer group so each one sees
+ * every event.
+ */
+@Component
+public class ProductCacheInvalidationListener {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductCacheInvalidationListener.class);
+
+    static final String PRODUCTS_PREFIX = "/api/products";
+    static final String MEDIA_IMAGES_PREFIX = "/api/media/images/";
+
+    private final ResponseCache responseCache;
+    private final ObjectMapper objectMapper;
+
+    public ProductCacheInvalidationListener(ResponseCache responseCache, ObjectMapper objectMapper) {
+        this.responseCache = responseCache;
+        this.objectMapper = objectMapper;
+    }
+
+    @KafkaListener(topics = { "product.updated", "product.deleted" },
+            groupId = "api-gateway-cache-${random.uuid}")
+    public void onProductChanged(String message) {
+        // Product lists embed every product, so any change invalidates all catalog entries
+        int purged = responseCache.purgePrefix(PRODUCTS_PREFIX);
+
+        if (message != null && message.trim().startsWith("{")) {
+            try {
+                JsonNode node = objectMapper.readTree(message);
+                if (node.has("mediaIds") && node.get("mediaIds").isArray()) {
+                    for (JsonNode mediaId : node.get("mediaIds")) {
+                        purged += responseCache.purgePrefix(MEDIA_IMAGES_PREFIX + mediaId.asText());
+                    }
+                }
+            } catch (Exception e) {
+                log.warn("Could not parse product event for cache purge: {}", e.getMessage());
+            }
+        }
+        log.debug("Purged {} cached responses after product event", purged);
+    }
+
+    /**
+     * media.deleted ({@code {id, ...}}) and media.associated ({@code {mediaId, productId, ...}}):
+     * product responses list image urls, and a deleted image must stop being served.
+     */
+    @KafkaListener(topics = { "media.deleted", "media.associated" },
+            groupId = "api-gateway-cache-media-${random.uuid}")
+    public void onMediaChanged(ConsumerRecord<String, String> record) {
+        int purged = responseCache.purgePrefix(PRODUCTS_PREFIX);
+        if ("media.deleted".equals(record.topic())) {
+            String mediaId = mediaId(record);
+            if (mediaId != null) {
+                purged += responseCache.purgePrefix(MEDIA_IMAGES_PREFIX + mediaId);
+            }
+        }
+        log.debug("Purged {} cached responses after {} event", purged, record.topic());
+    }
+
+    // Both media topics are keyed by media id; the body carries it too
+    private String mediaId(ConsumerRecord<String, String> record) {
+        if (record.key() != null && !record.key().isBlank()) {
+            return record.key();
+        }
+        try {
+            JsonNode node = objectMapper.readTree(record.value());
+            JsonNode id = node.has("id") ? node.get("id") : node.get("mediaId");
+            return id != null && id.isTextual() ? id.asText() : null;
+        } catch (Exception e) {
+            log.warn("Could not parse {} event for cache purge: {}", record.topic(), e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package ax.gritlab.buy_01.apigateway.cache;
+
+import ax.gritlab.buy_01.apigateway.config.ResponseCacheProperties;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Size-bounded LRU store for gateway responses.
+ * Bounded both by entry count and by the total number of body bytes held.
+ * <p>
+ * A response being fetched for the cache takes a {@link #generation()} stamp when its request
+ * starts and is stored with {@link #put(String, CachedResponse, long)}; it is dropped if a purge
+ * happened in between, so a response that was already in flight when an invalidation event
+ * arrived cannot put the old body back.
+ */
+@Component
+public class ResponseCache {
+
+    public static final String REVALIDATE_HEADER = "X-Gateway-Cache-Revalidate";
+
+    private final ResponseCacheProperties properties;
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+    private long totalBytes;
+    private long generation;
+
+    // Background refreshes carry this token; clients cannot guess it
+    private final String revalidationToken = UUID.randomUUID().toString();
+
+    public ResponseCache(ResponseCacheProperties properties) {
+        this.properties = properties;
+    }
+
+    public synchronized CachedResponse get(String key) {
+        CachedResponse entry = entries.get(key);
+        if (entry != null && !entry.isServableWhileRevalidating(System.currentTimeMillis())) {
+            removeEntry(key);
+            return null;
+        }
+        return entry;
+    }
+
+    // Stamp to take before fetching a response to cache
+    public synchronized long generation() {
+        return generation;
+    }
+
+    // Stores a response fetched after taking the given stamp, unless a purge has happened since
+    public synchronized boolean put(String key, CachedResponse response, long fetchedAt) {
+        if (fetchedAt != generation || response.body().length > properties.getMaxEntryBytes()) {
+            return false;
+        }
+        removeEntry(key);
+        entries.put(key, response);
+        totalBytes += response.body().length;
+        revalidating.remove(key);
+
+        Iterator<Map.Entry<String, CachedResponse>> eldest = entries.entrySet().iterator();
+        while ((entries.size() > properties.getMaxEntries() || totalBytes > properties.getMaxTotalBytes())
+                && eldest.hasNext()) {
+            totalBytes -= eldest.next().getValue().body().length;
+            eldest.remove();
+        }
+        return true;
+    }
+
+    public synchronized void remove(String key) {
+        removeEntry(key);
+        generation++;
+    }
+
+    /**
+     * Drops every entry whose key starts with the given path prefix.
+     */
+    public synchronized int purgePrefix(String prefix) {
+        generation++;
+        int purged = 0;
+        Iterator<Map.Entry<String, CachedResponse>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, CachedResponse> entry = it.next();
+            if (entry.getKey().startsWith(prefix)) {
+                totalBytes -= entry.getValue().body().length;
+                it.remove();
+                purged++;
+            }
+        }
+        return purged;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * Claims the background refresh of a stale entry; only the first caller gets {@code true}.
+     */
+    public boolean startRevalidation(String key) {
+        return revalidating.add(key);
+    }
+
+    public void finishRevalidation(String key) {
+        revalidating.remove(key);
+    }
+
+    public String revalidationToken() {
+        return revalidationToken;
+    }
+
+    /**
+     * Whether the request is a background refresh issued by the gateway itself. Those skip the
+     * cache lookup, rate limiting and load shedding.
+     */
+    public boolean isRevalidation(ServerHttpRequest request) {
+        return revalidationToken.equals(request.getHeaders().getFirst(REVALIDATE_HEADER));
+    }
+
+    private void removeEntry(String key) {
+        CachedResponse removed = entries.remove(key);
+        if (removed != null) {
+            totalBytes -= removed.body().length;
+        }
+    }
+}
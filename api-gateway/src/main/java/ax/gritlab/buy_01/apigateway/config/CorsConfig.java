@@ -2,6 +2,8 @@ package ax.gritlab.buy_01.apigateway.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.reactive.CorsWebFilter;
 import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
@@ -11,7 +13,9 @@ import java.util.Arrays;
 @Configuration
 public class CorsConfig {
 
+    // Runs first so that 429/503 responses from the rate limiter still carry CORS headers
     @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
     public CorsWebFilter corsWebFilter() {
         CorsConfiguration corsConfig = new CorsConfiguration();
 
@@ -33,7 +37,8 @@ public class CorsConfig {
         corsConfig.setMaxAge(3600L);
 
         // Expose headers
-        corsConfig.setExposedHeaders(Arrays.asList("Authorization", "Content-Type"));
+        corsConfig.setExposedHeaders(Arrays.asList(
+                "Authorization", "Content-Type", "Retry-After", "X-RateLimit-Remaining"));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", corsConfig);
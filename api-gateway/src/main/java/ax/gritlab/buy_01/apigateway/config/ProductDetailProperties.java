@@ -0,0 +1,50 @@
+package ax.gritlab.buy_01.apigateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("gateway.product-detail")
+public class ProductDetailProperties {
+
+    // Load-balanced base URIs resolved through Eureka
+    private String productServiceUri = "http://PRODUCT-SERVICE";
+
+    private String userServiceUri = "http://USER-SERVICE";
+
+    private Duration productTimeout = Duration.ofSeconds(2);
+
+    private Duration sellerTimeout = Duration.ofMillis(800);
+
+    public String getProductServiceUri() {
+        return productServiceUri;
+    }
+
+    public void setProductServiceUri(String productServiceUri) {
+        this.productServiceUri = productServiceUri;
+    }
+
+    public String getUserServiceUri() {
+        return userServiceUri;
+    }
+
+    public void setUserServiceUri(String userServiceUri) {
+        this.userServiceUri = userServiceUri;
+    }
+
+    public Duration getProductTimeout() {
+        return productTimeout;
+    }
+
+    public void setProductTimeout(Duration productTimeout) {
+        this.productTimeout = productTimeout;
+    }
+
+    public Duration getSellerTimeout() {
+        return sellerTimeout;
+    }
+
+    public void setSellerTimeout(Duration sellerTimeout) {
+        this.sellerTimeout = sellerTimeout;
+    }
+}
@@ -0,0 +1,139 @@
+package ax.gritlab.buy_01.apigateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties("gateway.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Login/register hit BCrypt, so they get the tightest budget
+    private List<String> authPaths = new ArrayList<>(List.of("/api/auth/**"));
+
+    private Budget auth = new Budget(10, 0.5);
+
+    private Budget read = new Budget(200, 50);
+
+    private Budget write = new Budget(30, 5);
+
+    // Buckets untouched for this long are forgotten
+    private Duration idleExpiry = Duration.ofMinutes(10);
+
+    // Per budget; once reached (and nothing idle can be dropped), new clients get 503
+    private int maxBuckets = 100_000;
+
+    // Only honor X-Forwarded-For when the gateway sits behind a trusted proxy
+    private boolean trustForwardedFor = false;
+
+    // Load shedding: requests in flight beyond this are answered with 503 right away
+    private int maxConcurrentRequests = 2000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getAuthPaths() {
+        return authPaths;
+    }
+
+    public void setAuthPaths(List<String> authPaths) {
+        this.authPaths = authPaths;
+    }
+
+    public Budget getAuth() {
+        return auth;
+    }
+
+    public void setAuth(Budget auth) {
+        this.auth = auth;
+    }
+
+    public Budget getRead() {
+        return read;
+    }
+
+    public void setRead(Budget read) {
+        this.read = read;
+    }
+
+    public Budget getWrite() {
+        return write;
+    }
+
+    public void setWrite(Budget write) {
+        this.write = write;
+    }
+
+    public Duration getIdleExpiry() {
+        return idleExpiry;
+    }
+
+    public void setIdleExpiry(Duration idleExpiry) {
+        this.idleExpiry = idleExpiry;
+    }
+
+    public int getMaxBuckets() {
+        return maxBuckets;
+    }
+
+    public void setMaxBuckets(int maxBuckets) {
+        this.maxBuckets = maxBuckets;
+    }
+
+    public boolean isTrustForwardedFor() {
+        return trustForwardedFor;
+    }
+
+    public void setTrustForwardedFor(boolean trustForwardedFor) {
+        this.trustForwardedFor = trustForwardedFor;
+    }
+
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    public static class Budget {
+
+        // Burst size
+        private long capacity;
+
+        // Sustained requests per second
+        private double refillPerSecond;
+
+        public Budget() {
+        }
+
+        public Budget(long capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+        }
+
+        public long getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(long capacity) {
+            this.capacity = capacity;
+        }
+
+        public double getRefillPerSecond() {
+            return refillPerSecond;
+        }
+
+        public void setRefillPerSecond(double refillPerSecond) {
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package ax.gritlab.buy_01.apigateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties("gateway.coalescing")
+public class RequestCoalescingProperties {
+
+    private boolean enabled = true;
+
+    // Request paths (Ant patterns) whose identical anonymous GETs are merged
+    private List<String> paths = new ArrayList<>(List.of("/api/products/**", "/api/media/images/**"));
+
+    // Responses larger than this are not buffered; waiters then go upstream themselves
+    private long maxBodyBytes = 2L * 1024 * 1024 + 1024;
+
+    // Upper bound of requests parked behind a single upstream call
+    private int maxWaiters = 1000;
+
+    // How long a waiter waits for the shared response before calling upstream itself
+    private Duration waitTimeout = Duration.ofSeconds(10);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getPaths() {
+        return paths;
+    }
+
+    public void setPaths(List<String> paths) {
+        this.paths = paths;
+    }
+
+    public long getMaxBodyBytes() {
+        return maxBodyBytes;
+    }
+
+    public void setMaxBodyBytes(long maxBodyBytes) {
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    public int getMaxWaiters() {
+        return maxWaiters;
+    }
+
+    public void setMaxWaiters(int maxWaiters) {
+        this.maxWaiters = maxWaiters;
+    }
+
+    public Duration getWaitTimeout() {
+        return waitTimeout;
+    }
+
+    public void setWaitTimeout(Duration waitTimeout) {
+        this.waitTimeout = waitTimeout;
+    }
+}
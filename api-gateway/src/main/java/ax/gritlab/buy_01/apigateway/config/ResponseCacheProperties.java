@@ -0,0 +1,86 @@
+package ax.gritlab.buy_01.apigateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties("gateway.cache")
+public class ResponseCacheProperties {
+
+    private boolean enabled = true;
+
+    // Request paths (Ant patterns) whose anonymous GET responses may be cached
+    private List<String> paths = new ArrayList<>(List.of("/api/products/**", "/api/media/**"));
+
+    private int maxEntries = 10_000;
+
+    // Upper bound for all cached bodies together
+    private long maxTotalBytes = 64L * 1024 * 1024;
+
+    // Larger responses are streamed through without being cached
+    private long maxEntryBytes = 2L * 1024 * 1024 + 1024;
+
+    // Freshness used when the backend sends no max-age / s-maxage
+    private Duration defaultTtl = Duration.ofSeconds(30);
+
+    // How long a stale entry may still be served while it is refreshed in the background
+    private Duration staleWhileRevalidate = Duration.ofSeconds(60);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getPaths() {
+        return paths;
+    }
+
+    public void setPaths(List<String> paths) {
+        this.paths = paths;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public long getMaxTotalBytes() {
+        return maxTotalBytes;
+    }
+
+    public void setMaxTotalBytes(long maxTotalBytes) {
+        this.maxTotalBytes = maxTotalBytes;
+    }
+
+    public long getMaxEntryBytes() {
+        return maxEntryBytes;
+    }
+
+    public void setMaxEntryBytes(long maxEntryBytes) {
+        this.maxEntryBytes = maxEntryBytes;
+    }
+
+    public Duration getDefaultTtl() {
+        return defaultTtl;
+    }
+
+    public void setDefaultTtl(Duration defaultTtl) {
+        this.defaultTtl = defaultTtl;
+    }
+
+    public Duration getStaleWhileRevalidate() {
+        return staleWhileRevalidate;
+    }
+
+    public void setStaleWhileRevalidate(Duration staleWhileRevalidate) {
+        this.staleWhileRevalidate = staleWhileRevalidate;
+    }
+}
@@ -0,0 +1,23 @@
+package ax.gritlab.buy_01.apigateway.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.HttpProtocol;
+
+/**
+ * Lets the proxy client talk HTTP/2 over cleartext to the services, so concurrent requests to one
+ * instance share a single multiplexed connection instead of one pooled connection each.
+ * <p>
+ * Off by default: it needs the services running with {@code server.http2.enabled=true}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "gateway.upstream", name = "h2c-enabled", havingValue = "true")
+public class UpstreamHttpClientConfig {
+
+    @Bean
+    public HttpClientCustomizer h2cHttpClientCustomizer() {
+        return httpClient -> httpClient.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+    }
+}
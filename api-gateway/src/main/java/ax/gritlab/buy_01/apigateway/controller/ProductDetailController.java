@@ -0,0 +1,31 @@
+package ax.gritlab.buy_01.apigateway.controller;
+
+import ax.gritlab.buy_01.apigateway.service.ProductDetailAggregator;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * Backend-for-frontend endpoints served by the gateway itself.
+ */
+@RestController
+@RequestMapping("/api/bff")
+public class ProductDetailController {
+
+    private final ProductDetailAggregator productDetailAggregator;
+
+    public ProductDetailController(ProductDetailAggregator productDetailAggregator) {
+        this.productDetailAggregator = productDetailAggregator;
+    }
+
+    // Product page in one round trip: { product, seller, partial, errors }
+    @GetMapping("/products/{id}")
+    public Mono<ObjectNode> getProductDetail(@PathVariable String id,
+            @RequestParam(required = false) String sellerId) {
+        return productDetailAggregator.getProductDetail(id, sellerId);
+    }
+}
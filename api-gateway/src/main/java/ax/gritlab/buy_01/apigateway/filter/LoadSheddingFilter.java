@@ -0,0 +1,66 @@
+package ax.gritlab.buy_01.apigateway.filter;
+
+import ax.gritlab.buy_01.apigateway.cache.ResponseCache;
+import ax.gritlab.buy_01.apigateway.config.RateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency-based load shedding: once more than {@code maxConcurrentRequests} requests are in
+ * flight, new ones get an immediate 503 instead of queueing up in front of the backends.
+ * The edge cache's background refreshes are not counted.
+ */
+@Component
+public class LoadSheddingFilter implements WebFilter, Ordered {
+
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 10;
+
+    private final RateLimitProperties properties;
+    private final ResponseCache responseCache;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter shed;
+
+    public LoadSheddingFilter(RateLimitProperties properties, ResponseCache responseCache,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.responseCache = responseCache;
+        this.shed = Counter.builder("gateway.loadshedding.rejected")
+                .description("Requests rejected because too many were in flight")
+                .register(meterRegistry);
+        Gauge.builder("gateway.loadshedding.inflight", inFlight, AtomicInteger::get)
+                .description("Requests currently in flight through the gateway")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        // Cache refreshes are at most one per stale entry and keep load off the backends
+        if (!properties.isEnabled() || responseCache.isRevalidation(exchange.getRequest())) {
+            return chain.filter(exchange);
+        }
+        if (inFlight.incrementAndGet() > properties.getMaxConcurrentRequests()) {
+            inFlight.decrementAndGet();
+            shed.increment();
+            exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+            return GatewayErrorResponses.write(exchange.getResponse(), HttpStatus.SERVICE_UNAVAILABLE,
+                    "The service is overloaded. Please retry shortly.");
+        }
+        return chain.filter(exchange).doFinally(signal -> inFlight.decrementAndGet());
+    }
+}
@@ -0,0 +1,172 @@
+package ax.gritlab.buy_01.apigateway.filter;
+
+import ax.gritlab.buy_01.apigateway.cache.ResponseCache;
+import ax.gritlab.buy_01.apigateway.config.RateLimitProperties;
+import ax.gritlab.buy_01.apigateway.ratelimit.TokenBucketRateLimiter;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client token-bucket rate limiting with separate budgets for auth, read and write traffic.
+ * <p>
+ * Clients are keyed by the JWT subject when a bearer token with a valid signature is present and
+ * by IP otherwise, so a forged or expired token cannot buy a fresh bucket. The auth routes, where
+ * BCrypt makes each request expensive, are unauthenticated and therefore always keyed by IP.
+ * Background refreshes of the edge cache are not limited. A new client that finds the bucket table
+ * full is answered with 503 and counted in {@code gateway.ratelimit.shed}.
+ */
+@Component
+public class RateLimitFilter implements WebFilter, Ordered {
+
+    public static final int ORDER = LoadSheddingFilter.ORDER + 1;
+
+    private final RateLimitProperties properties;
+    private final ResponseCache responseCache;
+    private final JwtParser jwtParser;
+    private final MeterRegistry meterRegistry;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final TokenBucketRateLimiter authLimiter;
+    private final TokenBucketRateLimiter readLimiter;
+    private final TokenBucketRateLimiter writeLimiter;
+    private final Disposable evictionTask;
+
+    public RateLimitFilter(RateLimitProperties properties, ResponseCache responseCache,
+            @Value("${jwt.secret.key}") String secretKey, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.responseCache = responseCache;
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey)))
+                .build();
+        this.meterRegistry = meterRegistry;
+        this.authLimiter = limiter(properties.getAuth(), properties);
+        this.readLimiter = limiter(properties.getRead(), properties);
+        this.writeLimiter = limiter(properties.getWrite(), properties);
+
+        long sweepMillis = Math.max(1000, properties.getIdleExpiry().toMillis() / 2);
+        this.evictionTask = Schedulers.parallel().schedulePeriodically(() -> {
+            authLimiter.evictIdle();
+            readLimiter.evictIdle();
+            writeLimiter.evictIdle();
+        }, sweepMillis, sweepMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        evictionTask.dispose();
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!properties.isEnabled() || request.getMethod() == HttpMethod.OPTIONS
+                || responseCache.isRevalidation(request)) {
+            return chain.filter(exchange);
+        }
+
+        String budget;
+        TokenBucketRateLimiter limiter;
+        if (isAuthPath(request.getURI().getRawPath())) {
+            budget = "auth";
+            limiter = authLimiter;
+        } else if (request.getMethod() == HttpMethod.GET || request.getMethod() == HttpMethod.HEAD) {
+            budget = "read";
+            limiter = readLimiter;
+        } else {
+            budget = "write";
+            limiter = writeLimiter;
+        }
+
+        String clientKey = "auth".equals(budget) ? ipKey(request) : clientKey(request);
+        TokenBucketRateLimiter.Decision decision = limiter.tryAcquire(clientKey);
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        headers.set("X-RateLimit-Remaining", Long.toString(decision.remaining()));
+        if (decision.allowed()) {
+            return chain.filter(exchange);
+        }
+
+        headers.set(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, (decision.retryAfterMillis() + 999) / 1000)));
+        if (decision.tableFull()) {
+            meterRegistry.counter("gateway.ratelimit.shed", "budget", budget).increment();
+            return GatewayErrorResponses.write(exchange.getResponse(), HttpStatus.SERVICE_UNAVAILABLE,
+                    "Too many clients. Please retry shortly.");
+        }
+        meterRegistry.counter("gateway.ratelimit.rejected", "budget", budget).increment();
+        return GatewayErrorResponses.write(exchange.getResponse(), HttpStatus.TOO_MANY_REQUESTS,
+                "Too many requests. Please slow down.");
+    }
+
+    private boolean isAuthPath(String path) {
+        for (String pattern : properties.getAuthPaths()) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String clientKey(ServerHttpRequest request) {
+        String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String subject = verifiedSubject(authHeader.substring(7));
+            if (subject != null) {
+                return "sub:" + subject;
+            }
+        }
+        return ipKey(request);
+    }
+
+    private String ipKey(ServerHttpRequest request) {
+        if (properties.isTrustForwardedFor()) {
+            String forwarded = request.getHeaders().getFirst("X-Forwarded-For");
+            if (forwarded != null && !forwarded.isBlank()) {
+                return "ip:" + forwarded.split(",")[0].trim();
+            }
+        }
+        InetSocketAddress remote = request.getRemoteAddress();
+        if (remote == null) {
+            return "ip:unknown";
+        }
+        return "ip:" + (remote.getAddress() != null ? remote.getAddress().getHostAddress() : remote.getHostString());
+    }
+
+    // Same HS256 key the services verify with; expired or tampered tokens yield null
+    private String verifiedSubject(String jwt) {
+        try {
+            return jwtParser.parseClaimsJws(jwt).getBody().getSubject();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static TokenBucketRateLimiter limiter(RateLimitProperties.Budget budget, RateLimitProperties properties) {
+        return new TokenBucketRateLimiter(budget.getCapacity(), budget.getRefillPerSecond(),
+                properties.getIdleExpiry().toNanos(), properties.getMaxBuckets());
+    }
+}
@@ -0,0 +1,234 @@
+package ax.gritlab.buy_01.apigateway.filter;
+
+import ax.gritlab.buy_01.apigateway.config.RequestCoalescingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Single-flight for identical anonymous GETs.
+ * <p>
+ * The first request for a key (the leader) goes upstream; identical requests arriving while it
+ * is in flight wait for the leader's buffered response and get a copy of it. If the leader fails,
+ * is cancelled or its body exceeds the size limit, the waiters fall back to their own upstream call.
+ * <p>
+ * Runs inside {@link ResponseCacheFilter}, so only cache misses are coalesced.
+ */
+@Component
+public class RequestCoalescingFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = ResponseCacheFilter.ORDER + 1;
+
+    private final RequestCoalescingProperties properties;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter leaderRequests;
+    private final Counter coalescedRequests;
+    private final Counter fallbackRequests;
+    private final DistributionSummary fanOut;
+
+    public RequestCoalescingFilter(RequestCoalescingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.leaderRequests = Counter.builder("gateway.coalescing.requests")
+                .description("Identical GETs seen by the coalescing filter")
+                .tag("role", "leader")
+                .register(meterRegistry);
+        this.coalescedRequests = Counter.builder("gateway.coalescing.requests")
+                .description("Identical GETs seen by the coalescing filter")
+                .tag("role", "coalesced")
+                .register(meterRegistry);
+        this.fallbackRequests = Counter.builder("gateway.coalescing.requests")
+                .description("Identical GETs seen by the coalescing filter")
+                .tag("role", "fallback")
+                .register(meterRegistry);
+        this.fanOut = DistributionSummary.builder("gateway.coalescing.fanout")
+                .description("Waiters served by a single upstream response")
+                .register(meterRegistry);
+        Gauge.builder("gateway.coalescing.inflight", inFlight, Map::size)
+                .description("Upstream calls currently shared between waiters")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!properties.isEnabled() || !isCoalescable(request)) {
+            return chain.filter(exchange);
+        }
+
+        String key = ResponseCacheFilter.cacheKey(request);
+        InFlight leader = new InFlight();
+        InFlight existing = inFlight.putIfAbsent(key, leader);
+        if (existing != null) {
+            return await(existing, exchange, chain);
+        }
+
+        leaderRequests.increment();
+        ServerHttpResponse decorated = new SharingResponseDecorator(exchange.getResponse(), leader);
+        return chain.filter(exchange.mutate().response(decorated).build())
+                .doFinally(signal -> {
+                    inFlight.remove(key, leader);
+                    // Completes waiters with "empty" if the response was never shared
+                    leader.sink.tryEmitEmpty();
+                });
+    }
+
+    private Mono<Void> await(InFlight leader, ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (leader.waiters.incrementAndGet() > properties.getMaxWaiters()) {
+            leader.waiters.decrementAndGet();
+            fallbackRequests.increment();
+            return chain.filter(exchange);
+        }
+        coalescedRequests.increment();
+        return leader.sink.asMono()
+                .timeout(properties.getWaitTimeout())
+                .onErrorResume(e -> Mono.empty())
+                .flatMap(shared -> write(exchange.getResponse(), shared).thenReturn(Boolean.TRUE))
+                .switchIfEmpty(Mono.defer(() -> {
+                    fallbackRequests.increment();
+                    return chain.filter(exchange).thenReturn(Boolean.TRUE);
+                }))
+                .then();
+    }
+
+    private Mono<Void> write(ServerHttpResponse response, SharedResponse shared) {
+        response.setStatusCode(HttpStatusCode.valueOf(shared.status()));
+        response.getHeaders().putAll(shared.headers());
+        response.getHeaders().setContentLength(shared.body().length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(shared.body())));
+    }
+
+    // Conditional GETs are not shared: the key has no validators, so one client's 304 would reach
+    // a client that has nothing cached, and a plain 200 would answer a revalidation with a full body
+    private boolean isCoalescable(ServerHttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        if (request.getMethod() != HttpMethod.GET || headers.containsKey(HttpHeaders.AUTHORIZATION)
+                || headers.containsKey(HttpHeaders.IF_NONE_MATCH) || headers.containsKey(HttpHeaders.IF_MODIFIED_SINCE)
+                || ResponseCacheFilter.acceptsStreaming(request)) {
+            return false;
+        }
+        String path = request.getURI().getRawPath();
+        for (String pattern : properties.getPaths()) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record SharedResponse(int status, HttpHeaders headers, byte[] body) {
+    }
+
+    private static final class InFlight {
+        private final Sinks.One<SharedResponse> sink = Sinks.one();
+        private final AtomicInteger waiters = new AtomicInteger();
+    }
+
+    private class SharingResponseDecorator extends ServerHttpResponseDecorator {
+
+        private final InFlight leader;
+        private volatile boolean bodyWritten;
+
+        SharingResponseDecorator(ServerHttpResponse delegate, InFlight leader) {
+            super(delegate);
+            this.leader = leader;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            bodyWritten = true;
+            if (getHeaders().getContentLength() > properties.getMaxBodyBytes()) {
+                return super.writeWith(body);
+            }
+            ByteArrayOutputStream captured = new ByteArrayOutputStream();
+            boolean[] overflow = { false };
+            Flux<? extends DataBuffer> tapped = Flux.from(body)
+                    .doOnNext(buffer -> {
+                        if (overflow[0]) {
+                            return;
+                        }
+                        if (captured.size() + buffer.readableByteCount() > properties.getMaxBodyBytes()) {
+                            overflow[0] = true;
+                            captured.reset();
+                            return;
+                        }
+                        int position = buffer.readPosition();
+                        byte[] bytes = new byte[buffer.readableByteCount()];
+                        buffer.read(bytes);
+                        buffer.readPosition(position);
+                        captured.writeBytes(bytes);
+                    })
+                    .doOnComplete(() -> {
+                        if (!overflow[0]) {
+                            share(captured.toByteArray());
+                        }
+                    });
+            return super.writeWith(tapped);
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            // Streamed bodies are not shared
+            bodyWritten = true;
+            return super.writeAndFlushWith(body);
+        }
+
+        @Override
+        public Mono<Void> setComplete() {
+            // Only a response that never had a body (304, 204, empty 200) is shared as empty; after an
+            // oversized or streamed body, or with a declared length, waiters go upstream instead
+            if (!bodyWritten && getHeaders().getContentLength() <= 0) {
+                share(new byte[0]);
+            }
+            return super.setComplete();
+        }
+
+        private void share(byte[] body) {
+            HttpStatusCode status = getStatusCode();
+            if (status == null) {
+                return;
+            }
+            // Only the representation headers; each waiter keeps its own rate-limit and CORS headers
+            HttpHeaders headers = new HttpHeaders();
+            for (String name : ResponseCacheFilter.STORED_HEADERS) {
+                List<String> values = getHeaders().get(name);
+                if (values != null) {
+                    headers.put(name, List.copyOf(values));
+                }
+            }
+            if (leader.sink.tryEmitValue(new SharedResponse(status.value(), headers, body)).isSuccess()) {
+                fanOut.record(leader.waiters.get());
+            }
+        }
+    }
+}
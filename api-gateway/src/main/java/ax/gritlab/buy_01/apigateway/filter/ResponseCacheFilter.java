@@ -0,0 +1,265 @@
+package ax.gritlab.buy_01.apigateway.filter;
+
+import ax.gritlab.buy_01.apigateway.cache.CacheDirectives;
+import ax.gritlab.buy_01.apigateway.cache.CachedResponse;
+import ax.gritlab.buy_01.apigateway.cache.ResponseCache;
+import ax.gritlab.buy_01.apigateway.config.ResponseCacheProperties;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Edge cache for anonymous catalog reads ({@code /api/products/**}, {@code /api/media/**}).
+ * <p>
+ * Responses are keyed on path plus query string, honor the downstream {@code Cache-Control}
+ * and {@code ETag} headers, and answer {@code If-None-Match} with 304. Stale entries are served
+ * for a short window while a single background request refreshes them.
+ */
+@Component
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseCacheFilter.class);
+
+    // Must wrap the response before NettyWriteResponseFilter writes it
+    public static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 3;
+
+    static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    // Headers worth replaying from a cached or shared response. An allow-list: hop-by-hop, CORS,
+    // rate-limit and cookie headers belong to the request that produced the response
+    static final List<String> STORED_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE,
+            HttpHeaders.CACHE_CONTROL,
+            HttpHeaders.ETAG,
+            HttpHeaders.LAST_MODIFIED,
+            HttpHeaders.CONTENT_DISPOSITION,
+            HttpHeaders.VARY);
+
+    private static final List<MediaType> STREAMING_TYPES = List.of(
+            MediaType.APPLICATION_NDJSON, MediaType.TEXT_EVENT_STREAM);
+
+    private final ResponseCache cache;
+    private final ResponseCacheProperties properties;
+    private final Environment environment;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final WebClient webClient = WebClient.create();
+
+    public ResponseCacheFilter(ResponseCache cache, ResponseCacheProperties properties, Environment environment) {
+        this.cache = cache;
+        this.properties = properties;
+        this.environment = environment;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!properties.isEnabled() || !isCacheable(request)) {
+            return chain.filter(exchange);
+        }
+
+        String key = cacheKey(request);
+        if (!cache.isRevalidation(request)) {
+            CachedResponse cached = cache.get(key);
+            long now = System.currentTimeMillis();
+            if (cached != null && cached.isFresh(now)) {
+                return writeCached(exchange, cached, "HIT", now);
+            }
+            if (cached != null && cached.isServableWhileRevalidating(now)) {
+                if (cache.startRevalidation(key)) {
+                    revalidate(request, key);
+                }
+                return writeCached(exchange, cached, "STALE", now);
+            }
+        }
+
+        exchange.getResponse().getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+        ServerHttpResponse decorated = new CachingResponseDecorator(exchange.getResponse(), key);
+        return chain.filter(exchange.mutate().response(decorated).build());
+    }
+
+    private boolean isCacheable(ServerHttpRequest request) {
+        if (request.getMethod() != HttpMethod.GET || request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)
+                || acceptsStreaming(request)) {
+            return false;
+        }
+        String path = request.getURI().getRawPath();
+        for (String pattern : properties.getPaths()) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Streamed representations (ndjson, SSE) share the URL of the JSON one; they are never cached
+    static boolean acceptsStreaming(ServerHttpRequest request) {
+        for (MediaType accepted : request.getHeaders().getAccept()) {
+            for (MediaType streaming : STREAMING_TYPES) {
+                if (streaming.isCompatibleWith(accepted) && !accepted.isWildcardSubtype()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    static String cacheKey(ServerHttpRequest request) {
+        String query = request.getURI().getRawQuery();
+        String path = request.getURI().getRawPath();
+        return query == null ? path : path + "?" + query;
+    }
+
+    private Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse cached, String cacheStatus, long now) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        cached.headers().forEach((name, values) -> headers.put(name, values));
+        headers.set(CACHE_STATUS_HEADER, cacheStatus);
+        headers.set(HttpHeaders.AGE, Long.toString(cached.ageSeconds(now)));
+
+        List<String> ifNoneMatch = exchange.getRequest().getHeaders().getIfNoneMatch();
+        if (ifNoneMatch.contains(cached.etag()) || ifNoneMatch.contains("*")) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+
+        response.setStatusCode(HttpStatusCode.valueOf(cached.status()));
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(cached.body())));
+    }
+
+    // Re-requests the resource through this gateway's own port, so the refresh takes the normal
+    // route and its response replaces the stale entry in this filter. The token exempts the
+    // request from rate limiting and load shedding, so refreshes are never charged to the
+    // gateway's own loopback address.
+    private void revalidate(ServerHttpRequest request, String key) {
+        webClient.get()
+                .uri(gatewayBaseUrl() + key)
+                .header(ResponseCache.REVALIDATE_HEADER, cache.revalidationToken())
+                .retrieve()
+                .toBodilessEntity()
+                .doFinally(signal -> cache.finishRevalidation(key))
+                .subscribe(
+                        entity -> log.debug("Revalidated cached response for {}", key),
+                        error -> log.warn("Background revalidation failed for {}: {}", key, error.getMessage()));
+    }
+
+    private String gatewayBaseUrl() {
+        String scheme = environment.getProperty("server.ssl.enabled", Boolean.class, false) ? "https" : "http";
+        String port = environment.getProperty("local.server.port", environment.getProperty("server.port", "8080"));
+        return scheme + "://localhost:" + port;
+    }
+
+    private class CachingResponseDecorator extends ServerHttpResponseDecorator {
+
+        private final String key;
+        // Taken before the request goes upstream; a purge while it is in flight discards the response
+        private final long fetchedAt;
+
+        CachingResponseDecorator(ServerHttpResponse delegate, String key) {
+            super(delegate);
+            this.key = key;
+            this.fetchedAt = cache.generation();
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getStatusCode();
+            HttpHeaders headers = getHeaders();
+            CacheDirectives directives = CacheDirectives.parse(headers.getCacheControl());
+            if (status == null || status.value() != HttpStatus.OK.value()
+                    || !directives.isStorable()
+                    || headers.containsKey(HttpHeaders.SET_COOKIE)
+                    || headers.getContentLength() > properties.getMaxEntryBytes()) {
+                return super.writeWith(body);
+            }
+
+            Duration ttl = directives.ttl(properties.getDefaultTtl());
+            if (ttl.isZero() || ttl.isNegative()) {
+                return super.writeWith(body);
+            }
+            Duration staleWindow = directives.staleWhileRevalidate(properties.getStaleWhileRevalidate());
+
+            ByteArrayOutputStream captured = new ByteArrayOutputStream();
+            boolean[] overflow = { false };
+            Flux<? extends DataBuffer> tapped = Flux.from(body)
+                    .doOnNext(buffer -> {
+                        if (overflow[0]) {
+                            return;
+                        }
+                        if (captured.size() + buffer.readableByteCount() > properties.getMaxEntryBytes()) {
+                            overflow[0] = true;
+                            captured.reset();
+                            return;
+                        }
+                        // Copy without consuming the buffer that is about to be written
+                        int position = buffer.readPosition();
+                        byte[] bytes = new byte[buffer.readableByteCount()];
+                        buffer.read(bytes);
+                        buffer.readPosition(position);
+                        captured.writeBytes(bytes);
+                    })
+                    .doOnComplete(() -> {
+                        if (!overflow[0]) {
+                            store(headers, captured.toByteArray(), ttl, staleWindow);
+                        }
+                    });
+            return super.writeWith(tapped);
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            // Streaming responses are never cached
+            return super.writeAndFlushWith(body);
+        }
+
+        private void store(HttpHeaders headers, byte[] body, Duration ttl, Duration staleWindow) {
+            HttpHeaders stored = new HttpHeaders();
+            for (String name : STORED_HEADERS) {
+                List<String> values = headers.get(name);
+                if (values != null) {
+                    stored.put(name, List.copyOf(values));
+                }
+            }
+            String etag = headers.getETag();
+            if (etag == null) {
+                etag = "\"0" + DigestUtils.md5DigestAsHex(body) + "\"";
+                stored.setETag(etag);
+            }
+
+            long now = System.currentTimeMillis();
+            long freshUntil = now + ttl.toMillis();
+            cache.put(key, new CachedResponse(HttpStatus.OK.value(), stored, body, etag,
+                    now, freshUntil, freshUntil + staleWindow.toMillis()), fetchedAt);
+        }
+    }
+}
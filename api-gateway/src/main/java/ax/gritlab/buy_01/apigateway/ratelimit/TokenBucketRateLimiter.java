@@ -0,0 +1,115 @@
+package ax.gritlab.buy_01.apigateway.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory token bucket per key (client IP or JWT subject).
+ * <p>
+ * Each bucket holds its state in a single {@link AtomicReference} updated with compare-and-set,
+ * so concurrent requests for the same key never block each other. Buckets that have been idle
+ * longer than {@code idleExpiryNanos} are dropped by {@link #evictIdle()}. At most
+ * {@code maxBuckets} keys are tracked. When the table is full, idle buckets are dropped (at most
+ * once per second) and a new key that still finds no room is refused with
+ * {@link Decision#tableFull()} set, rather than sharing a budget with unrelated clients.
+ */
+public class TokenBucketRateLimiter {
+
+    // Sweeping idle buckets is linear in the table size, so a full table is swept at most this often
+    static final long FULL_TABLE_SWEEP_NANOS = 1_000_000_000L;
+    static final long TABLE_FULL_RETRY_MILLIS = 1000;
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final long idleExpiryNanos;
+    private final int maxBuckets;
+    private final LongSupplier nanoClock;
+    private final Map<String, AtomicReference<BucketState>> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong lastFullTableSweep;
+
+    public TokenBucketRateLimiter(long capacity, double refillPerSecond, long idleExpiryNanos, int maxBuckets,
+            LongSupplier nanoClock) {
+        if (capacity <= 0 || refillPerSecond <= 0 || maxBuckets <= 0) {
+            throw new IllegalArgumentException("Token bucket capacity, refill rate and bucket limit must be positive");
+        }
+        this.capacity = capacity;
+        this.tokensPerNano = refillPerSecond / 1_000_000_000d;
+        this.idleExpiryNanos = idleExpiryNanos;
+        this.maxBuckets = maxBuckets;
+        this.nanoClock = nanoClock;
+        this.lastFullTableSweep = new AtomicLong(nanoClock.getAsLong() - FULL_TABLE_SWEEP_NANOS);
+    }
+
+    public TokenBucketRateLimiter(long capacity, double refillPerSecond, long idleExpiryNanos, int maxBuckets) {
+        this(capacity, refillPerSecond, idleExpiryNanos, maxBuckets, System::nanoTime);
+    }
+
+    /**
+     * Takes one token for {@code key} if available.
+     */
+    public Decision tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        AtomicReference<BucketState> bucket = buckets.get(key);
+        if (bucket == null) {
+            // The size check races with other inserts, so the map may exceed the limit slightly
+            if (buckets.size() >= maxBuckets && !sweepFullTable(now)) {
+                return new Decision(false, 0, TABLE_FULL_RETRY_MILLIS, true);
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicReference<>(new BucketState(capacity, now)));
+        }
+
+        while (true) {
+            BucketState current = bucket.get();
+            double available = Math.min(capacity, current.tokens() + (now - current.updatedAt()) * tokensPerNano);
+            if (available >= 1) {
+                BucketState next = new BucketState(available - 1, now);
+                if (bucket.compareAndSet(current, next)) {
+                    return new Decision(true, (long) next.tokens(), 0, false);
+                }
+            } else {
+                BucketState next = new BucketState(available, now);
+                if (bucket.compareAndSet(current, next)) {
+                    long retryAfterNanos = (long) Math.ceil((1 - available) / tokensPerNano);
+                    return new Decision(false, 0, Math.max(1, retryAfterNanos / 1_000_000), false);
+                }
+            }
+        }
+    }
+
+    // Frees room for a new key by dropping idle buckets; false if there is still no room
+    private boolean sweepFullTable(long now) {
+        long last = lastFullTableSweep.get();
+        if (now - last >= FULL_TABLE_SWEEP_NANOS && lastFullTableSweep.compareAndSet(last, now)) {
+            evictIdle();
+        }
+        return buckets.size() < maxBuckets;
+    }
+
+    /**
+     * Drops buckets that were not touched for the idle expiry; an idle bucket is full anyway,
+     * so forgetting it does not change any decision.
+     */
+    public int evictIdle() {
+        long now = nanoClock.getAsLong();
+        int before = buckets.size();
+        buckets.entrySet().removeIf(entry -> now - entry.getValue().get().updatedAt() > idleExpiryNanos);
+        return before - buckets.size();
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    /**
+     * {@code tableFull} marks a refusal because no bucket could be created for a new key, as opposed
+     * to the key having used up its own budget.
+     */
+    public record Decision(boolean allowed, long remaining, long retryAfterMillis, boolean tableFull) {
+    }
+
+    private record BucketState(double tokens, long updatedAt) {
+    }
+}
@@ -0,0 +1,133 @@
+package ax.gritlab.buy_01.apigateway.service;
+
+import ax.gritlab.buy_01.apigateway.config.ProductDetailProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Builds the product detail page document from product-service and user-service.
+ * <p>
+ * When the caller already knows the seller id (it is on every product card), both calls run in
+ * parallel; otherwise the seller lookup starts as soon as the product arrives. Each call has its
+ * own timeout. A failed or slow seller lookup yields a partial document instead of an error; the
+ * product is what the page exists to show, so its failures are errors: 404 for an unknown product,
+ * 504 on timeout and 502 for any other product-service failure.
+ */
+@Service
+public class ProductDetailAggregator {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductDetailAggregator.class);
+
+    private final WebClient webClient;
+    private final ProductDetailProperties properties;
+    private final ObjectMapper objectMapper;
+
+    public ProductDetailAggregator(WebClient.Builder loadBalancedWebClientBuilder,
+            ProductDetailProperties properties, ObjectMapper objectMapper) {
+        this.webClient = loadBalancedWebClientBuilder.build();
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    public Mono<ObjectNode> getProductDetail(String productId, String sellerIdHint) {
+        Mono<Part> product = fetchProduct(productId).cache();
+
+        Mono<Part> seller;
+        if (sellerIdHint != null && !sellerIdHint.isBlank()) {
+            seller = fetchSeller(sellerIdHint);
+        } else {
+            seller = product.flatMap(part -> part.body() != null && part.body().hasNonNull("sellerId")
+                    ? fetchSeller(part.body().get("sellerId").asText())
+                    : Mono.just(Part.failed("seller", "unknown seller")));
+        }
+
+        return Mono.zip(product, seller)
+                .flatMap(parts -> {
+                    Part productPart = parts.getT1();
+                    Part sellerPart = parts.getT2();
+                    // The hint was wrong: look the seller up again by the product's own sellerId
+                    if (productPart.body() != null && sellerPart.body() != null
+                            && productPart.body().hasNonNull("sellerId")
+                            && !productPart.body().get("sellerId").asText().equals(sellerPart.body().path("id").asText())) {
+                        return fetchSeller(productPart.body().get("sellerId").asText())
+                                .map(corrected -> toDocument(productPart, corrected));
+                    }
+                    return Mono.just(toDocument(productPart, sellerPart));
+                });
+    }
+
+    private Mono<Part> fetchProduct(String productId) {
+        Duration timeout = properties.getProductTimeout();
+        return fetch(properties.getProductServiceUri() + "/products/{id}", productId, timeout)
+                .map(body -> new Part("product", body, null))
+                .onErrorMap(e -> {
+                    if (e instanceof WebClientResponseException.NotFound) {
+                        return new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found with id: " + productId);
+                    }
+                    log.warn("Product detail: product lookup for {} failed: {}", productId, reason(e, timeout));
+                    if (e instanceof TimeoutException) {
+                        return new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT,
+                                "product-service did not answer within " + timeout.toMillis() + " ms");
+                    }
+                    return new ResponseStatusException(HttpStatus.BAD_GATEWAY, "product-service lookup failed", e);
+                });
+    }
+
+    private Mono<Part> fetchSeller(String sellerId) {
+        Duration timeout = properties.getSellerTimeout();
+        return fetch(properties.getUserServiceUri() + "/users/{id}", sellerId, timeout)
+                .map(body -> new Part("seller", body, null))
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.just(Part.failed("seller", "not found")))
+                .onErrorResume(e -> {
+                    String reason = reason(e, timeout);
+                    log.warn("Product detail: seller lookup for {} failed: {}", sellerId, reason);
+                    return Mono.just(Part.failed("seller", reason));
+                });
+    }
+
+    private Mono<JsonNode> fetch(String uriTemplate, String id, Duration timeout) {
+        return webClient.get()
+                .uri(uriTemplate, id)
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .timeout(timeout);
+    }
+
+    private static String reason(Throwable e, Duration timeout) {
+        return e instanceof TimeoutException ? "timed out after " + timeout.toMillis() + " ms" : e.getMessage();
+    }
+
+    private ObjectNode toDocument(Part product, Part seller) {
+        ObjectNode document = objectMapper.createObjectNode();
+        document.set("product", product.body());
+        document.set("seller", seller.body());
+
+        ArrayNode errors = document.putArray("errors");
+        for (Part part : new Part[] { product, seller }) {
+            if (part.error() != null) {
+                errors.addObject().put("source", part.name()).put("message", part.error());
+            }
+        }
+        document.put("partial", !errors.isEmpty());
+        return document;
+    }
+
+    private record Part(String name, JsonNode body, String error) {
+        static Part failed(String name, String error) {
+            return new Part(name, null, error);
+        }
+    }
+}
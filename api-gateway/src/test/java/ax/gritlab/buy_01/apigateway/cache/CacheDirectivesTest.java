@@ -0,0 +1,55 @@
+package ax.gritlab.buy_01.apigateway.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CacheDirectivesTest {
+
+    private static final Duration DEFAULT_TTL = Duration.ofSeconds(30);
+
+    @Test
+    public void testMissingHeaderIsStorableWithDefaults() {
+        CacheDirectives directives = CacheDirectives.parse(null);
+
+        assertTrue(directives.isStorable());
+        assertEquals(DEFAULT_TTL, directives.ttl(DEFAULT_TTL));
+        assertEquals(Duration.ofSeconds(5), directives.staleWhileRevalidate(Duration.ofSeconds(5)));
+        assertEquals(directives, CacheDirectives.parse("  "));
+    }
+
+    @Test
+    public void testNoStorePrivateAndNoCacheAreNotStorable() {
+        assertFalse(CacheDirectives.parse("no-store").isStorable());
+        assertFalse(CacheDirectives.parse("private, max-age=60").isStorable());
+        assertFalse(CacheDirectives.parse("private=\"Set-Cookie\"").isStorable());
+        assertFalse(CacheDirectives.parse("no-cache").isStorable());
+        assertFalse(CacheDirectives.parse("public, No-Store").isStorable());
+    }
+
+    @Test
+    public void testSharedMaxAgeWinsOverMaxAge() {
+        assertEquals(Duration.ofSeconds(120), CacheDirectives.parse("max-age=10, s-maxage=120").ttl(DEFAULT_TTL));
+        assertEquals(Duration.ofSeconds(10), CacheDirectives.parse("public, max-age=10").ttl(DEFAULT_TTL));
+        assertEquals(Duration.ZERO, CacheDirectives.parse("max-age=0").ttl(DEFAULT_TTL));
+    }
+
+    @Test
+    public void testStaleWhileRevalidateAndQuotedValues() {
+        CacheDirectives directives = CacheDirectives.parse("max-age=\"15\", stale-while-revalidate=45");
+
+        assertEquals(Duration.ofSeconds(15), directives.ttl(DEFAULT_TTL));
+        assertEquals(Duration.ofSeconds(45), directives.staleWhileRevalidate(Duration.ofSeconds(5)));
+    }
+
+    @Test
+    public void testMalformedNumbersFallBackToDefaults() {
+        CacheDirectives directives = CacheDirectives.parse("max-age=soon, stale-while-revalidate=");
+
+        assertTrue(directives.isStorable());
+        assertEquals(DEFAULT_TTL, directives.ttl(DEFAULT_TTL));
+        assertEquals(Duration.ofSeconds(5), directives.staleWhileRevalidate(Duration.ofSeconds(5)));
+    }
+}
@@ -0,0 +1,77 @@
+package ax.gritlab.buy_01.apigateway.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProductCacheInvalidationListenerTest {
+
+    private final ResponseCache cache = new ResponseCache(ResponseCacheTest.properties(100, 10_000, 10_000));
+    private final ProductCacheInvalidationListener listener =
+            new ProductCacheInvalidationListener(cache, new ObjectMapper());
+
+    @BeforeEach
+    public void setUp() {
+        cache.put("/api/products", entry(), cache.generation());
+        cache.put("/api/products/p1?fields=name", entry(), cache.generation());
+        cache.put("/api/media/images/m1", entry(), cache.generation());
+        cache.put("/api/media/images/m2", entry(), cache.generation());
+    }
+
+    @Test
+    public void testProductEventPurgesCatalogAndItsImages() {
+        listener.onProductChanged("{\"id\":\"p1\",\"mediaIds\":[\"m1\"],\"userId\":\"s1\"}");
+
+        assertNull(cache.get("/api/products"));
+        assertNull(cache.get("/api/products/p1?fields=name"));
+        assertNull(cache.get("/api/media/images/m1"));
+        assertNotNull(cache.get("/api/media/images/m2"));
+    }
+
+    @Test
+    public void testRawIdOrUnreadableEventStillPurgesCatalog() {
+        listener.onProductChanged("p1");
+        assertNull(cache.get("/api/products"));
+        assertEquals(2, cache.size());
+
+        cache.put("/api/products", entry(), cache.generation());
+        listener.onProductChanged("{\"mediaIds\":");
+        assertNull(cache.get("/api/products"));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testMediaDeletedPurgesTheImageAndCatalog() {
+        listener.onMediaChanged(new ConsumerRecord<>("media.deleted", 0, 0, "m1",
+                "{\"id\":\"m1\",\"productId\":\"p1\",\"userId\":\"s1\",\"size\":3}"));
+
+        assertNull(cache.get("/api/media/images/m1"));
+        assertNull(cache.get("/api/products"));
+        assertNotNull(cache.get("/api/media/images/m2"));
+
+        cache.put("/api/media/images/m1", entry(), cache.generation());
+        // Without a key the id is read from the event
+        listener.onMediaChanged(new ConsumerRecord<>("media.deleted", 0, 1, null, "{\"id\":\"m1\"}"));
+        assertNull(cache.get("/api/media/images/m1"));
+    }
+
+    @Test
+    public void testMediaAssociatedPurgesCatalogOnly() {
+        listener.onMediaChanged(new ConsumerRecord<>("media.associated", 0, 0, "m1",
+                "{\"mediaId\":\"m1\",\"productId\":\"p1\",\"userId\":\"s1\"}"));
+
+        assertNull(cache.get("/api/products"));
+        assertNull(cache.get("/api/products/p1?fields=name"));
+        assertNotNull(cache.get("/api/media/images/m1"));
+        assertNotNull(cache.get("/api/media/images/m2"));
+    }
+
+    private static CachedResponse entry() {
+        long now = System.currentTimeMillis();
+        return new CachedResponse(200, new HttpHeaders(), new byte[1], "\"e\"", now, now + 60_000, now + 120_000);
+    }
+}
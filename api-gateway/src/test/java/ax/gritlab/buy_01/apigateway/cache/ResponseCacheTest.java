@@ -0,0 +1,136 @@
+package ax.gritlab.buy_01.apigateway.cache;
+
+import ax.gritlab.buy_01.apigateway.config.ResponseCacheProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResponseCacheTest {
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsDroppedAtMaxEntries() {
+        ResponseCache cache = new ResponseCache(properties(2, 1_000, 1_000));
+        cache.put("/a", entry(10), cache.generation());
+        cache.put("/b", entry(10), cache.generation());
+        cache.get("/a");
+        cache.put("/c", entry(10), cache.generation());
+
+        assertNotNull(cache.get("/a"));
+        assertNull(cache.get("/b"));
+        assertNotNull(cache.get("/c"));
+        assertEquals(2, cache.size());
+        assertEquals(20, cache.totalBytes());
+    }
+
+    @Test
+    public void testEntriesAreDroppedUntilTotalBytesFit() {
+        ResponseCache cache = new ResponseCache(properties(100, 100, 100));
+        cache.put("/a", entry(40), cache.generation());
+        cache.put("/b", entry(40), cache.generation());
+        cache.put("/c", entry(60), cache.generation());
+
+        // 140 bytes: the eldest entry goes, the remaining 100 fit
+        assertNull(cache.get("/a"));
+        assertNotNull(cache.get("/b"));
+        assertNotNull(cache.get("/c"));
+        assertEquals(100, cache.totalBytes());
+
+        cache.put("/d", entry(90), cache.generation());
+        assertNull(cache.get("/b"));
+        assertNull(cache.get("/c"));
+        assertEquals(90, cache.totalBytes());
+    }
+
+    @Test
+    public void testOversizedEntryIsNotStored() {
+        ResponseCache cache = new ResponseCache(properties(100, 1_000, 50));
+        cache.put("/a", entry(51), cache.generation());
+
+        assertNull(cache.get("/a"));
+        assertEquals(0, cache.totalBytes());
+    }
+
+    @Test
+    public void testReplacingAnEntryKeepsByteCountAccurate() {
+        ResponseCache cache = new ResponseCache(properties(100, 1_000, 1_000));
+        cache.put("/a", entry(30), cache.generation());
+        cache.put("/a", entry(10), cache.generation());
+
+        assertEquals(1, cache.size());
+        assertEquals(10, cache.totalBytes());
+    }
+
+    @Test
+    public void testEntryPastStaleWindowIsDropped() {
+        ResponseCache cache = new ResponseCache(properties(100, 1_000, 1_000));
+        long now = System.currentTimeMillis();
+        cache.put("/a", new CachedResponse(200, new HttpHeaders(), new byte[5], "\"e\"", now - 20, now - 10, now - 1),
+                cache.generation());
+
+        assertNull(cache.get("/a"));
+        assertEquals(0, cache.totalBytes());
+    }
+
+    @Test
+    public void testPurgePrefix() {
+        ResponseCache cache = new ResponseCache(properties(100, 1_000, 1_000));
+        cache.put("/api/products", entry(1), cache.generation());
+        cache.put("/api/products/1", entry(2), cache.generation());
+        cache.put("/api/media/images/m1", entry(4), cache.generation());
+
+        assertEquals(2, cache.purgePrefix("/api/products"));
+        assertEquals(1, cache.size());
+        assertEquals(4, cache.totalBytes());
+    }
+
+    @Test
+    public void testFillStartedBeforePurgeIsDropped() {
+        ResponseCache cache = new ResponseCache(properties(100, 1_000, 1_000));
+        long fetchedAt = cache.generation();
+
+        cache.purgePrefix("/api/products");
+
+        assertFalse(cache.put("/api/products/1", entry(2), fetchedAt));
+        assertNull(cache.get("/api/products/1"));
+        assertTrue(cache.put("/api/products/1", entry(2), cache.generation()));
+    }
+
+    @Test
+    public void testOnlyOneRevalidationPerKeyUntilStored() {
+        ResponseCache cache = new ResponseCache(properties(100, 1_000, 1_000));
+
+        assertTrue(cache.startRevalidation("/a"));
+        assertFalse(cache.startRevalidation("/a"));
+
+        cache.put("/a", entry(1), cache.generation());
+        assertTrue(cache.startRevalidation("/a"));
+        cache.finishRevalidation("/a");
+        assertTrue(cache.startRevalidation("/a"));
+    }
+
+    @Test
+    public void testRevalidationRequiresTheToken() {
+        ResponseCache cache = new ResponseCache(properties(100, 1_000, 1_000));
+
+        assertTrue(cache.isRevalidation(MockServerHttpRequest.get("/a")
+                .header(ResponseCache.REVALIDATE_HEADER, cache.revalidationToken()).build()));
+        assertFalse(cache.isRevalidation(MockServerHttpRequest.get("/a")
+                .header(ResponseCache.REVALIDATE_HEADER, "guess").build()));
+        assertFalse(cache.isRevalidation(MockServerHttpRequest.get("/a").build()));
+    }
+
+    static ResponseCacheProperties properties(int maxEntries, long maxTotalBytes, long maxEntryBytes) {
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setMaxEntries(maxEntries);
+        properties.setMaxTotalBytes(maxTotalBytes);
+        properties.setMaxEntryBytes(maxEntryBytes);
+        return properties;
+    }
+
+    private static CachedResponse entry(int bytes) {
+        long now = System.currentTimeMillis();
+        return new CachedResponse(200, new HttpHeaders(), new byte[bytes], "\"e\"", now, now + 60_000, now + 120_000);
+    }
+}
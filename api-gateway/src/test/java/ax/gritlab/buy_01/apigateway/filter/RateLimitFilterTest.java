@@ -0,0 +1,61 @@
+package ax.gritlab.buy_01.apigateway.filter;
+
+import ax.gritlab.buy_01.apigateway.cache.ResponseCache;
+import ax.gritlab.buy_01.apigateway.config.RateLimitProperties;
+import ax.gritlab.buy_01.apigateway.config.ResponseCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimitFilterTest {
+
+    private static final String SECRET =
+            "dGhpc2lzYXNlY3VyZXNlY3JldGtleWZvcnRoZWJ1eWFwcGxpY2F0aW9udGhhdGlzbG9uZ2Vub3VnaGZvckhTMjU2";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RateLimitFilter filter;
+
+    @AfterEach
+    public void tearDown() {
+        filter.stop();
+    }
+
+    @Test
+    public void testNewClientIsShedWhenBucketTableIsFull() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setMaxBuckets(1);
+        filter = new RateLimitFilter(properties, new ResponseCache(new ResponseCacheProperties()), SECRET,
+                meterRegistry);
+
+        MockServerWebExchange first = exchange("10.0.0.1");
+        filter.filter(first, exchange -> Mono.empty()).block();
+        assertNull(first.getResponse().getStatusCode());
+
+        MockServerWebExchange second = exchange("10.0.0.2");
+        filter.filter(second, exchange -> Mono.error(new AssertionError("shed request reached the chain"))).block();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, second.getResponse().getStatusCode());
+        assertEquals("1", second.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(1, meterRegistry.counter("gateway.ratelimit.shed", "budget", "read").count());
+        assertEquals(0, meterRegistry.counter("gateway.ratelimit.rejected", "budget", "read").count());
+
+        // The tracked client is unaffected
+        MockServerWebExchange again = exchange("10.0.0.1");
+        filter.filter(again, exchange -> Mono.empty()).block();
+        assertNull(again.getResponse().getStatusCode());
+    }
+
+    private static MockServerWebExchange exchange(String ip) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/products")
+                .remoteAddress(new InetSocketAddress(ip, 40000)));
+    }
+}
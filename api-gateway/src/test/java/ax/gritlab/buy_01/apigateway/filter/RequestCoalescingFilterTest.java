@@ -0,0 +1,216 @@
+package ax.gritlab.buy_01.apigateway.filter;
+
+import ax.gritlab.buy_01.apigateway.config.RequestCoalescingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestCoalescingFilterTest {
+
+    private static final Duration BLOCK = Duration.ofSeconds(5);
+
+    private final RequestCoalescingProperties properties = new RequestCoalescingProperties();
+    private final Sinks.Empty<Void> leaderGate = Sinks.empty();
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    @Test
+    public void testWaiterGetsLeaderStatusRepresentationHeadersAndBody() {
+        RequestCoalescingFilter filter = filter();
+        GatewayFilterChain chain = upstream((exchange, call) -> {
+            HttpHeaders headers = exchange.getResponse().getHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.setETag("\"v1\"");
+            headers.setCacheControl("max-age=30");
+            headers.set("X-RateLimit-Remaining", "7");
+            headers.set(HttpHeaders.SET_COOKIE, "session=leader");
+            return body(exchange, HttpStatus.NOT_FOUND, "missing");
+        });
+
+        MockServerWebExchange leader = exchange();
+        MockServerWebExchange waiter = exchange();
+        filter.filter(leader, chain).subscribe();
+        Mono<Void> waiting = filter.filter(waiter, chain).cache();
+        waiting.subscribe();
+        leaderGate.tryEmitEmpty();
+        waiting.block(BLOCK);
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(HttpStatus.NOT_FOUND, waiter.getResponse().getStatusCode());
+        assertEquals("missing", waiter.getResponse().getBodyAsString().block(BLOCK));
+        HttpHeaders headers = waiter.getResponse().getHeaders();
+        assertEquals(MediaType.APPLICATION_JSON, headers.getContentType());
+        assertEquals("\"v1\"", headers.getETag());
+        assertEquals("max-age=30", headers.getCacheControl());
+        assertEquals(7, headers.getContentLength());
+        assertNull(headers.getFirst("X-RateLimit-Remaining"));
+        assertNull(headers.getFirst(HttpHeaders.SET_COOKIE));
+    }
+
+    @Test
+    public void testWaiterFallsBackToItsOwnCallAfterTimeout() {
+        properties.setWaitTimeout(Duration.ofMillis(50));
+        RequestCoalescingFilter filter = filter();
+        GatewayFilterChain chain = upstream((exchange, call) -> body(exchange, HttpStatus.OK, "call-" + call));
+
+        MockServerWebExchange leader = exchange();
+        MockServerWebExchange waiter = exchange();
+        filter.filter(leader, chain).subscribe();
+        filter.filter(waiter, chain).block(BLOCK);
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals("call-2", waiter.getResponse().getBodyAsString().block(BLOCK));
+
+        leaderGate.tryEmitEmpty();
+        assertEquals("call-1", leader.getResponse().getBodyAsString().block(BLOCK));
+    }
+
+    @Test
+    public void testOversizedBodyIsNotShared() {
+        properties.setMaxBodyBytes(4);
+        RequestCoalescingFilter filter = filter();
+        GatewayFilterChain chain = upstream((exchange, call) -> body(exchange, HttpStatus.OK, "body-" + call));
+
+        MockServerWebExchange waiter = runLeaderAndWaiter(filter, chain);
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals("body-2", waiter.getResponse().getBodyAsString().block(BLOCK));
+    }
+
+    @Test
+    public void testOversizedBodyFollowedBySetCompleteIsNotSharedAsEmpty() {
+        properties.setMaxBodyBytes(4);
+        RequestCoalescingFilter filter = filter();
+        GatewayFilterChain chain = upstream((exchange, call) -> call == 1
+                ? body(exchange, HttpStatus.OK, "body-1").then(exchange.getResponse().setComplete())
+                : body(exchange, HttpStatus.OK, "body-" + call));
+
+        MockServerWebExchange waiter = runLeaderAndWaiter(filter, chain);
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals("body-2", waiter.getResponse().getBodyAsString().block(BLOCK));
+    }
+
+    @Test
+    public void testBodilessResponseIsSharedAsEmpty() {
+        RequestCoalescingFilter filter = filter();
+        GatewayFilterChain chain = upstream((exchange, call) -> {
+            exchange.getResponse().setStatusCode(HttpStatus.NOT_MODIFIED);
+            exchange.getResponse().getHeaders().setETag("\"v1\"");
+            return exchange.getResponse().setComplete();
+        });
+
+        MockServerWebExchange waiter = runLeaderAndWaiter(filter, chain);
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(HttpStatus.NOT_MODIFIED, waiter.getResponse().getStatusCode());
+        assertEquals("\"v1\"", waiter.getResponse().getHeaders().getETag());
+        assertEquals(0, waiter.getResponse().getHeaders().getContentLength());
+    }
+
+    @Test
+    public void testSetCompleteWithDeclaredLengthIsNotShared() {
+        RequestCoalescingFilter filter = filter();
+        GatewayFilterChain chain = upstream((exchange, call) -> {
+            if (call > 1) {
+                return body(exchange, HttpStatus.OK, "own");
+            }
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            exchange.getResponse().getHeaders().setContentLength(10);
+            return exchange.getResponse().setComplete();
+        });
+
+        MockServerWebExchange waiter = runLeaderAndWaiter(filter, chain);
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals("own", waiter.getResponse().getBodyAsString().block(BLOCK));
+    }
+
+    @Test
+    public void testWaitersBeyondTheLimitGoUpstream() {
+        properties.setMaxWaiters(0);
+        RequestCoalescingFilter filter = filter();
+        GatewayFilterChain chain = upstream((exchange, call) -> body(exchange, HttpStatus.OK, "call-" + call));
+
+        MockServerWebExchange waiter = runLeaderAndWaiter(filter, chain);
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals("call-2", waiter.getResponse().getBodyAsString().block(BLOCK));
+    }
+
+    @Test
+    public void testConditionalRequestsAreNotCoalesced() {
+        RequestCoalescingFilter filter = filter();
+        GatewayFilterChain chain = upstream((exchange, call) -> {
+            if (exchange.getRequest().getHeaders().getIfNoneMatch().contains("\"v1\"")) {
+                exchange.getResponse().setStatusCode(HttpStatus.NOT_MODIFIED);
+                return exchange.getResponse().setComplete();
+            }
+            return body(exchange, HttpStatus.OK, "call-" + call);
+        });
+
+        MockServerWebExchange leader = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/api/products/p1").ifNoneMatch("\"v1\""));
+        MockServerWebExchange plain = exchange();
+        MockServerWebExchange modifiedSince = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/api/products/p1").ifModifiedSince(0));
+        filter.filter(leader, chain).subscribe();
+        filter.filter(plain, chain).block(BLOCK);
+        filter.filter(modifiedSince, chain).block(BLOCK);
+        leaderGate.tryEmitEmpty();
+
+        assertEquals(3, upstreamCalls.get());
+        assertEquals(HttpStatus.NOT_MODIFIED, leader.getResponse().getStatusCode());
+        assertEquals("call-2", plain.getResponse().getBodyAsString().block(BLOCK));
+        assertEquals("call-3", modifiedSince.getResponse().getBodyAsString().block(BLOCK));
+    }
+
+    // Starts a leader held at the gate, parks one waiter behind it, then releases the leader
+    private MockServerWebExchange runLeaderAndWaiter(RequestCoalescingFilter filter, GatewayFilterChain chain) {
+        MockServerWebExchange leader = exchange();
+        MockServerWebExchange waiter = exchange();
+        filter.filter(leader, chain).subscribe();
+        Mono<Void> waiting = filter.filter(waiter, chain).cache();
+        waiting.subscribe();
+        leaderGate.tryEmitEmpty();
+        waiting.block(BLOCK);
+        return waiter;
+    }
+
+    private RequestCoalescingFilter filter() {
+        return new RequestCoalescingFilter(properties, new SimpleMeterRegistry());
+    }
+
+    // The first call (the leader) is held until the gate opens; later calls answer at once
+    private GatewayFilterChain upstream(BiFunction<ServerWebExchange, Integer, Mono<Void>> respond) {
+        return exchange -> {
+            int call = upstreamCalls.incrementAndGet();
+            Mono<Void> response = Mono.defer(() -> respond.apply(exchange, call));
+            return call == 1 ? leaderGate.asMono().then(response) : response;
+        };
+    }
+
+    private static Mono<Void> body(ServerWebExchange exchange, HttpStatus status, String body) {
+        exchange.getResponse().setStatusCode(status);
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory().wrap(bytes)));
+    }
+
+    private static MockServerWebExchange exchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/products/p1"));
+    }
+}
@@ -0,0 +1,189 @@
+package ax.gritlab.buy_01.apigateway.filter;
+
+import ax.gritlab.buy_01.apigateway.cache.CachedResponse;
+import ax.gritlab.buy_01.apigateway.cache.ResponseCache;
+import ax.gritlab.buy_01.apigateway.config.ResponseCacheProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResponseCacheFilterTest {
+
+    private final ResponseCacheProperties properties = new ResponseCacheProperties();
+    private final ResponseCache cache = new ResponseCache(properties);
+    // Nothing listens on port 1: background refreshes fail fast and release their claim
+    private final MockEnvironment environment = new MockEnvironment().withProperty("local.server.port", "1");
+    private final ResponseCacheFilter filter = new ResponseCacheFilter(cache, properties, environment);
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    @Test
+    public void testMissStoresResponseWithGeneratedEtag() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/products?page=1"));
+
+        filter.filter(exchange, upstream("max-age=60", null, "[1,2]")).block();
+
+        assertEquals("MISS", exchange.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER));
+        assertEquals("[1,2]", exchange.getResponse().getBodyAsString().block());
+        CachedResponse stored = cache.get("/api/products?page=1");
+        assertNotNull(stored);
+        assertArrayEquals("[1,2]".getBytes(StandardCharsets.UTF_8), stored.body());
+        assertTrue(stored.etag().startsWith("\"0"));
+        assertEquals(stored.etag(), stored.headers().getETag());
+    }
+
+    @Test
+    public void testHitIsServedWithoutUpstream() {
+        filter.filter(exchange(MockServerHttpRequest.get("/api/products/p1")),
+                upstream("max-age=60", "\"v1\"", "{}")).block();
+
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/products/p1"));
+        filter.filter(exchange, upstream("max-age=60", "\"v2\"", "changed")).block();
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+        assertEquals("HIT", exchange.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER));
+        assertEquals("\"v1\"", exchange.getResponse().getHeaders().getETag());
+        assertEquals("0", exchange.getResponse().getHeaders().getFirst(HttpHeaders.AGE));
+        assertEquals("{}", exchange.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    public void testMatchingIfNoneMatchAnswers304WithoutBody() {
+        filter.filter(exchange(MockServerHttpRequest.get("/api/products/p1")),
+                upstream("max-age=60", "\"v1\"", "{}")).block();
+
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/products/p1")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"v0\", \"v1\""));
+        filter.filter(exchange, upstream("max-age=60", "\"v1\"", "{}")).block();
+
+        assertEquals(HttpStatus.NOT_MODIFIED, exchange.getResponse().getStatusCode());
+        assertEquals("\"v1\"", exchange.getResponse().getHeaders().getETag());
+        assertEquals("", exchange.getResponse().getBodyAsString().defaultIfEmpty("").block());
+    }
+
+    @Test
+    public void testDifferentIfNoneMatchGetsTheBody() {
+        filter.filter(exchange(MockServerHttpRequest.get("/api/products/p1")),
+                upstream("max-age=60", "\"v1\"", "{}")).block();
+
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/products/p1")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"v0\""));
+        filter.filter(exchange, upstream("max-age=60", "\"v1\"", "{}")).block();
+
+        assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+        assertEquals("{}", exchange.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    public void testImageIsServedFromCache() throws IOException {
+        byte[] png = {(byte) 0x89, 'P', 'N', 'G'};
+        // The headers media-service sends with an image
+        GatewayFilterChain mediaService = exchange -> {
+            upstreamCalls.incrementAndGet();
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            HttpHeaders headers = exchange.getResponse().getHeaders();
+            headers.setCacheControl("max-age=3600, public, s-maxage=3600, stale-while-revalidate=60");
+            headers.setETag("\"m1\"");
+            headers.setContentType(MediaType.IMAGE_PNG);
+            return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory().wrap(png)));
+        };
+        filter.filter(exchange(MockServerHttpRequest.get("/api/media/images/m1")), mediaService).block();
+
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/media/images/m1"));
+        filter.filter(exchange, mediaService).block();
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals("HIT", exchange.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER));
+        assertEquals(MediaType.IMAGE_PNG, exchange.getResponse().getHeaders().getContentType());
+        assertArrayEquals(png, exchange.getResponse().getBody().blockFirst().asInputStream().readAllBytes());
+        CachedResponse stored = cache.get("/api/media/images/m1");
+        assertEquals("\"m1\"", stored.etag());
+        assertEquals(3_600_000, stored.freshUntil() - stored.storedAt());
+    }
+
+    @Test
+    public void testResponseInFlightDuringPurgeIsNotStored() {
+        GatewayFilterChain purgedWhileInFlight = exchange -> {
+            cache.purgePrefix("/api/products");
+            return upstream("max-age=60", "\"v1\"", "old").filter(exchange);
+        };
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/products/p1"));
+
+        filter.filter(exchange, purgedWhileInFlight).block();
+
+        assertEquals("old", exchange.getResponse().getBodyAsString().block());
+        assertNull(cache.get("/api/products/p1"));
+    }
+
+    @Test
+    public void testUncacheableResponsesAndRequestsBypassTheCache() {
+        filter.filter(exchange(MockServerHttpRequest.get("/api/products/p1")),
+                upstream("private, max-age=60", null, "{}")).block();
+        assertNull(cache.get("/api/products/p1"));
+
+        filter.filter(exchange(MockServerHttpRequest.get("/api/products/p2")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer t")), upstream("max-age=60", null, "{}")).block();
+        assertNull(cache.get("/api/products/p2"));
+
+        filter.filter(exchange(MockServerHttpRequest.get("/api/products/p3")
+                .accept(MediaType.APPLICATION_NDJSON)), upstream("max-age=60", null, "{}")).block();
+        assertNull(cache.get("/api/products/p3"));
+
+        filter.filter(exchange(MockServerHttpRequest.get("/api/users/u1")),
+                upstream("max-age=60", null, "{}")).block();
+        assertNull(cache.get("/api/users/u1"));
+    }
+
+    @Test
+    public void testStaleEntryIsServedAndRefreshedOnce() throws InterruptedException {
+        long now = System.currentTimeMillis();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"v1\"");
+        cache.put("/api/products/p1", new CachedResponse(200, headers, "{}".getBytes(StandardCharsets.UTF_8),
+                "\"v1\"", now - 40_000, now - 10_000, now + 50_000), cache.generation());
+
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/products/p1"));
+        filter.filter(exchange, upstream("max-age=60", null, "new")).block();
+
+        assertEquals("STALE", exchange.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER));
+        assertEquals("{}", exchange.getResponse().getBodyAsString().block());
+        assertEquals(0, upstreamCalls.get());
+        // The refresh holds the claim until it completes, then releases it
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!cache.startRevalidation("/api/products/p1") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(System.currentTimeMillis() < deadline);
+    }
+
+    private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        return MockServerWebExchange.from(request.build());
+    }
+
+    private GatewayFilterChain upstream(String cacheControl, String etag, String body) {
+        return exchange -> {
+            upstreamCalls.incrementAndGet();
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            HttpHeaders headers = exchange.getResponse().getHeaders();
+            headers.setCacheControl(cacheControl);
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            if (etag != null) {
+                headers.setETag(etag);
+            }
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory().wrap(bytes)));
+        };
+    }
+}
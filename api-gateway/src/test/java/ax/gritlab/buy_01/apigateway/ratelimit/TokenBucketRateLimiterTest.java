@@ -0,0 +1,109 @@
+package ax.gritlab.buy_01.apigateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenBucketRateLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    public void testBurstUpToCapacityThenReject() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(3, 1, 60 * SECOND, 100, clock::get);
+
+        assertTrue(limiter.tryAcquire("a").allowed());
+        assertTrue(limiter.tryAcquire("a").allowed());
+        assertTrue(limiter.tryAcquire("a").allowed());
+
+        TokenBucketRateLimiter.Decision rejected = limiter.tryAcquire("a");
+        assertFalse(rejected.allowed());
+        assertEquals(1000, rejected.retryAfterMillis());
+
+        // Other keys have their own bucket
+        assertTrue(limiter.tryAcquire("b").allowed());
+    }
+
+    @Test
+    public void testRefillOverTime() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, 2, 60 * SECOND, 100, clock::get);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("a");
+        assertFalse(limiter.tryAcquire("a").allowed());
+
+        clock.addAndGet(SECOND / 2);
+        assertTrue(limiter.tryAcquire("a").allowed());
+        assertFalse(limiter.tryAcquire("a").allowed());
+
+        // Never refills beyond capacity
+        clock.addAndGet(10 * SECOND);
+        assertEquals(1, limiter.tryAcquire("a").remaining());
+    }
+
+    @Test
+    public void testEvictIdleBuckets() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(5, 1, 10 * SECOND, 100, clock::get);
+        limiter.tryAcquire("a");
+        clock.addAndGet(6 * SECOND);
+        limiter.tryAcquire("b");
+        clock.addAndGet(6 * SECOND);
+
+        assertEquals(1, limiter.evictIdle());
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    public void testNewKeysAreRefusedWhileTableIsFull() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, 1, 60 * SECOND, 2, clock::get);
+        assertTrue(limiter.tryAcquire("a").allowed());
+        assertTrue(limiter.tryAcquire("b").allowed());
+
+        // "c" and "d" get no bucket, and in particular no shared one
+        TokenBucketRateLimiter.Decision refused = limiter.tryAcquire("c");
+        assertFalse(refused.allowed());
+        assertTrue(refused.tableFull());
+        assertEquals(TokenBucketRateLimiter.TABLE_FULL_RETRY_MILLIS, refused.retryAfterMillis());
+        assertTrue(limiter.tryAcquire("d").tableFull());
+        assertEquals(2, limiter.size());
+
+        // Known keys keep their own bucket
+        TokenBucketRateLimiter.Decision known = limiter.tryAcquire("a");
+        assertTrue(known.allowed());
+        assertFalse(known.tableFull());
+        assertFalse(limiter.tryAcquire("a").tableFull());
+    }
+
+    @Test
+    public void testFullTableMakesRoomByDroppingIdleBuckets() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, 1, 10 * SECOND, 2, clock::get);
+        limiter.tryAcquire("a");
+        clock.addAndGet(6 * SECOND);
+        limiter.tryAcquire("b");
+        clock.addAndGet(6 * SECOND);
+
+        // "a" has been idle past the expiry and gives up its slot
+        assertTrue(limiter.tryAcquire("c").allowed());
+        assertEquals(2, limiter.size());
+
+        // Nothing idle to drop, and the next sweep is rate limited anyway
+        assertTrue(limiter.tryAcquire("d").tableFull());
+    }
+
+    @Test
+    public void testFullTableIsSweptAtMostOncePerSecond() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, 1, SECOND / 2, 1, clock::get);
+        limiter.tryAcquire("a");
+        assertTrue(limiter.tryAcquire("b").tableFull());
+
+        // "a" is idle now, but the last sweep was less than a second ago
+        clock.addAndGet(SECOND * 3 / 4);
+        assertTrue(limiter.tryAcquire("b").tableFull());
+
+        clock.addAndGet(SECOND / 4);
+        assertTrue(limiter.tryAcquire("b").allowed());
+    }
+}
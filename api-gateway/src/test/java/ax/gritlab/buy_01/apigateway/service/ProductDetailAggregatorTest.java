@@ -0,0 +1,157 @@
+package ax.gritlab.buy_01.apigateway.service;
+
+import ax.gritlab.buy_01.apigateway.config.ProductDetailProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProductDetailAggregatorTest {
+
+    private static final Duration BLOCK = Duration.ofSeconds(5);
+    private static final String PRODUCT = "{\"id\":\"p1\",\"name\":\"Lamp\",\"sellerId\":\"s1\"}";
+
+    private final ProductDetailProperties properties = new ProductDetailProperties();
+    private final List<String> requested = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void testHintFetchesProductAndSellerInParallel() {
+        // The product answers only once the seller has been requested, so a sequential lookup would hang
+        Sinks.Empty<Void> sellerRequested = Sinks.empty();
+        ProductDetailAggregator aggregator = aggregator(Map.of(
+                "/products/p1", sellerRequested.asMono().then(ok(PRODUCT)),
+                "/users/s1", Mono.defer(() -> {
+                    sellerRequested.tryEmitEmpty();
+                    return ok("{\"id\":\"s1\",\"name\":\"Sam\"}");
+                })));
+
+        ObjectNode document = aggregator.getProductDetail("p1", "s1").block(BLOCK);
+
+        assertEquals("Lamp", document.path("product").path("name").asText());
+        assertEquals("Sam", document.path("seller").path("name").asText());
+        assertFalse(document.path("partial").asBoolean());
+        assertTrue(document.path("errors").isEmpty());
+        assertEquals(2, requested.size());
+    }
+
+    @Test
+    public void testWithoutHintSellerIsLookedUpByProductSellerId() {
+        ProductDetailAggregator aggregator = aggregator(Map.of(
+                "/products/p1", ok(PRODUCT),
+                "/users/s1", ok("{\"id\":\"s1\",\"name\":\"Sam\"}")));
+
+        ObjectNode document = aggregator.getProductDetail("p1", null).block(BLOCK);
+
+        assertEquals("s1", document.path("seller").path("id").asText());
+        assertEquals(List.of("/products/p1", "/users/s1"), requested);
+    }
+
+    @Test
+    public void testWrongHintIsCorrectedFromTheProduct() {
+        ProductDetailAggregator aggregator = aggregator(Map.of(
+                "/products/p1", ok(PRODUCT),
+                "/users/s9", ok("{\"id\":\"s9\",\"name\":\"Someone else\"}"),
+                "/users/s1", ok("{\"id\":\"s1\",\"name\":\"Sam\"}")));
+
+        ObjectNode document = aggregator.getProductDetail("p1", "s9").block(BLOCK);
+
+        assertEquals("Sam", document.path("seller").path("name").asText());
+        assertFalse(document.path("partial").asBoolean());
+        assertTrue(requested.contains("/users/s9"));
+        assertTrue(requested.contains("/users/s1"));
+    }
+
+    @Test
+    public void testSellerTimeoutYieldsPartialDocument() {
+        properties.setSellerTimeout(Duration.ofMillis(50));
+        ProductDetailAggregator aggregator = aggregator(Map.of(
+                "/products/p1", ok(PRODUCT),
+                "/users/s1", Mono.never()));
+
+        ObjectNode document = aggregator.getProductDetail("p1", "s1").block(BLOCK);
+
+        assertEquals("Lamp", document.path("product").path("name").asText());
+        assertTrue(document.path("seller").isNull());
+        assertTrue(document.path("partial").asBoolean());
+        assertEquals("seller", document.path("errors").get(0).path("source").asText());
+        assertEquals("timed out after 50 ms", document.path("errors").get(0).path("message").asText());
+    }
+
+    @Test
+    public void testUnknownSellerYieldsPartialDocument() {
+        ProductDetailAggregator aggregator = aggregator(Map.of(
+                "/products/p1", ok(PRODUCT),
+                "/users/s1", status(HttpStatus.NOT_FOUND)));
+
+        ObjectNode document = aggregator.getProductDetail("p1", null).block(BLOCK);
+
+        assertTrue(document.path("partial").asBoolean());
+        assertEquals("not found", document.path("errors").get(0).path("message").asText());
+    }
+
+    @Test
+    public void testUnknownProductIs404() {
+        ProductDetailAggregator aggregator = aggregator(Map.of(
+                "/products/p1", status(HttpStatus.NOT_FOUND),
+                "/users/s1", ok("{\"id\":\"s1\"}")));
+
+        assertStatus(HttpStatus.NOT_FOUND, aggregator.getProductDetail("p1", "s1"));
+    }
+
+    @Test
+    public void testProductTimeoutIs504() {
+        properties.setProductTimeout(Duration.ofMillis(50));
+        ProductDetailAggregator aggregator = aggregator(Map.of(
+                "/products/p1", Mono.never(),
+                "/users/s1", ok("{\"id\":\"s1\"}")));
+
+        assertStatus(HttpStatus.GATEWAY_TIMEOUT, aggregator.getProductDetail("p1", "s1"));
+    }
+
+    @Test
+    public void testProductServerErrorIs502() {
+        ProductDetailAggregator aggregator = aggregator(Map.of(
+                "/products/p1", status(HttpStatus.SERVICE_UNAVAILABLE)));
+
+        assertStatus(HttpStatus.BAD_GATEWAY, aggregator.getProductDetail("p1", null));
+    }
+
+    private ProductDetailAggregator aggregator(Map<String, Mono<ClientResponse>> responses) {
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> {
+            String path = request.url().getPath();
+            requested.add(path);
+            return responses.getOrDefault(path, Mono.error(new AssertionError("unexpected call to " + path)));
+        });
+        return new ProductDetailAggregator(builder, properties, new ObjectMapper());
+    }
+
+    private static void assertStatus(HttpStatus expected, Mono<ObjectNode> detail) {
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> detail.block(BLOCK));
+        assertEquals(expected, e.getStatusCode());
+    }
+
+    private static Mono<ClientResponse> ok(String json) {
+        return Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(json)
+                .build());
+    }
+
+    private static Mono<ClientResponse> status(HttpStatus status) {
+        return Mono.just(ClientResponse.create(status).build());
+    }
+}
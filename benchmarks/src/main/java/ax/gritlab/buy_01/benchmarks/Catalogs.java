@@ -0,0 +1,67 @@
+package ax.gritlab.buy_01.benchmarks;
+
+import ax.gritlab.buy_01.media.model.Media;
+import ax.gritlab.buy_01.product.model.Product;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Synthetic products and media shaped like the seeded catalog (three images per product).
+ */
+final class Catalogs {
+
+    static final int IMAGES_PER_PRODUCT = 3;
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2025, 1, 15, 10, 30);
+
+    private Catalogs() {
+    }
+
+    static List<Product> products(int count) {
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            List<String> mediaIds = new ArrayList<>(IMAGES_PER_PRODUCT);
+            for (int m = 0; m < IMAGES_PER_PRODUCT; m++) {
+                mediaIds.add(objectId(i * IMAGES_PER_PRODUCT + m + 1_000_000));
+            }
+            products.add(Product.builder()
+                    .id(objectId(i))
+                    .name("Product " + i)
+                    .description("Hand-made item number " + i + " with a description of typical catalog length.")
+                    .price(9.99 + i)
+                    .quantity(i % 50)
+                    .userId(objectId(i % 20 + 2_000_000))
+                    .mediaIds(mediaIds)
+                    .createdAt(CREATED)
+                    .updatedAt(CREATED.plusMinutes(i))
+                    .build());
+        }
+        return products;
+    }
+
+    static List<Media> media(int count) {
+        List<Media> media = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String id = objectId(i + 1_000_000);
+            media.add(Media.builder()
+                    .id(id)
+                    .originalFilename("photo-" + i + ".jpg")
+                    .contentType("image/jpeg")
+                    .size(150_000 + i)
+                    .filePath(id + ".jpg")
+                    .userId(objectId(i % 20 + 2_000_000))
+                    .productId(objectId(i / IMAGES_PER_PRODUCT))
+                    .url("http://localhost:8080/api/media/images/" + id)
+                    .createdAt(CREATED)
+                    .updatedAt(CREATED)
+                    .build());
+        }
+        return media;
+    }
+
+    static String objectId(int n) {
+        return String.format("65f1c2a4e4b0%012x", n);
+    }
+}
@@ -0,0 +1,45 @@
+package ax.gritlab.buy_01.benchmarks;
+
+import ax.gritlab.buy_01.user.model.Role;
+import ax.gritlab.buy_01.user.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Shared inputs for the benchmarks: the services are wired by hand, without a Spring context.
+ */
+final class Fixtures {
+
+    // Same key as the services' jwt.secret.key
+    static final String JWT_SECRET =
+            "dGhpc2lzYXNlY3VyZXNlY3JldGtleWZvcnRoZWJ1eWFwcGxpY2F0aW9udGhhdGlzbG9uZ2Vub3VnaGZvckhTMjU2";
+
+    private Fixtures() {
+    }
+
+    /**
+     * A seller token as issued by user-service on login.
+     */
+    static String sellerToken() {
+        ax.gritlab.buy_01.user.service.JwtService issuer =
+                new ax.gritlab.buy_01.user.service.JwtService(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(issuer, "secretKey", JWT_SECRET);
+        return issuer.generateToken(seller());
+    }
+
+    static User seller() {
+        return User.builder()
+                .id("65f1c2a4e4b0a1b2c3d4e5f6")
+                .name("Bench Seller")
+                .email("seller@example.com")
+                .password("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z1.uGq6mIvTR8QKcYLVq8V2W")
+                .role(Role.SELLER)
+                .avatar("https://localhost:8443/api/media/images/65f1c2a4e4b0a1b2c3d4e5f7")
+                .build();
+    }
+
+    static <T> T withJwtSecret(T jwtService) {
+        ReflectionTestUtils.setField(jwtService, "secretKey", JWT_SECRET);
+        return jwtService;
+    }
+}
@@ -0,0 +1,68 @@
+package ax.gritlab.buy_01.benchmarks;
+
+import ax.gritlab.buy_01.media.model.Media;
+import ax.gritlab.buy_01.product.dto.ProductResponse;
+import ax.gritlab.buy_01.product.service.ProductService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of product and media lists, with the ObjectMapper configured the way
+ * Spring Boot configures it for the controllers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    private int size;
+
+    private ObjectWriter productWriter;
+    private ObjectWriter mediaWriter;
+    private List<ProductResponse> products;
+    private List<Media> media;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        productWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, ProductResponse.class));
+        mediaWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, Media.class));
+
+        ProductService productService = new ProductService(null, null, null, null, null);
+        ReflectionTestUtils.setField(productService, "mediaPublicUrl", "https://localhost:8443/api/media");
+        products = Catalogs.products(size).stream().map(productService::toProductResponse).toList();
+        media = Catalogs.media(size);
+    }
+
+    @Benchmark
+    public byte[] productResponses() throws Exception {
+        return productWriter.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public byte[] media() throws Exception {
+        return mediaWriter.writeValueAsBytes(media);
+    }
+}
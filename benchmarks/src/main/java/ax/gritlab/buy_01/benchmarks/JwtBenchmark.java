@@ -0,0 +1,60 @@
+package ax.gritlab.buy_01.benchmarks;
+
+import ax.gritlab.buy_01.product.service.JwtService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token parsing and signature verification in {@link JwtService} (product-service; media-service's copy is identical).
+ * Every extract* call re-parses and re-verifies the token, so {@link #filterClaims} is what one
+ * authenticated request costs today.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = Fixtures.withJwtSecret(new JwtService(new SimpleMeterRegistry()));
+        token = Fixtures.sellerToken();
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(token);
+    }
+
+    @Benchmark
+    public List<GrantedAuthority> extractAuthorities() {
+        return jwtService.extractAuthorities(token);
+    }
+
+    @Benchmark
+    public void filterClaims(Blackhole blackhole) {
+        blackhole.consume(jwtService.isTokenValid(token));
+        blackhole.consume(jwtService.extractUsername(token));
+        blackhole.consume(jwtService.extractUserId(token));
+        blackhole.consume(jwtService.extractAuthorities(token));
+    }
+}
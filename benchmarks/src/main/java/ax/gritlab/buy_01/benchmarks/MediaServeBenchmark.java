@@ -0,0 +1,105 @@
+package ax.gritlab.buy_01.benchmarks;
+
+import ax.gritlab.buy_01.media.config.StorageProperties;
+import ax.gritlab.buy_01.media.model.Media;
+import ax.gritlab.buy_01.media.repository.MediaRepository;
+import ax.gritlab.buy_01.media.service.MediaService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /media/images/{id} without the HTTP layer: {@link MediaService#getResourceById} resolves the
+ * file, then the body is streamed the way the resource message converter writes it. The repository
+ * lookup is an in-memory stub, so the numbers cover disk I/O and resource handling only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MediaServeBenchmark {
+
+    // Thumbnail, typical photo, upload limit
+    @Param({ "16384", "262144", "2097152" })
+    private int fileSize;
+
+    private Path storage;
+    private MediaService mediaService;
+    private String mediaId;
+
+    @Setup
+    public void setUp() throws IOException {
+        storage = Files.createTempDirectory("media-bench");
+        byte[] content = new byte[fileSize];
+        ThreadLocalRandom.current().nextBytes(content);
+        Files.write(storage.resolve("image.jpg"), content);
+
+        mediaId = Catalogs.objectId(1);
+        Media media = Media.builder()
+                .id(mediaId)
+                .contentType("image/jpeg")
+                .size(fileSize)
+                .filePath("image.jpg")
+                .build();
+
+        StorageProperties storageProperties = new StorageProperties();
+        storageProperties.setLocation(storage.toString());
+        mediaService = new MediaService(stubRepository(media), storageProperties, null, null, null, null,
+                new SimpleMeterRegistry(), ObservationRegistry.NOOP);
+        mediaService.init();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        FileSystemUtils.deleteRecursively(storage);
+    }
+
+    @Benchmark
+    public Object resolve() {
+        return mediaService.getResourceById(mediaId).getResource();
+    }
+
+    @Benchmark
+    public long serve() throws IOException {
+        MediaService.MediaResource mediaResource = mediaService.getResourceById(mediaId);
+        try (InputStream in = mediaResource.getResource().getInputStream()) {
+            return in.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    private static MediaRepository stubRepository(Media media) {
+        return (MediaRepository) Proxy.newProxyInstance(
+                MediaRepository.class.getClassLoader(),
+                new Class<?>[] { MediaRepository.class },
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findById")) {
+                        return media.getId().equals(args[0]) ? Optional.of(media) : Optional.empty();
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,81 @@
+package ax.gritlab.buy_01.benchmarks;
+
+import ax.gritlab.buy_01.media.service.MediaService;
+import ax.gritlab.buy_01.media.service.ProductDeleteKafkaConsumer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Payload parsing in media-service's {@link ProductDeleteKafkaConsumer}. The deletes themselves
+ * are stubbed out, so only the JSON handling and dispatch are measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductDeletedConsumerBenchmark {
+
+    /**
+     * json: current producer format with media ids; productOnly: JSON without media ids;
+     * raw: legacy plain product id.
+     */
+    @Param({ "json", "productOnly", "raw" })
+    private String payload;
+
+    private RecordingMediaService mediaService;
+    private ProductDeleteKafkaConsumer consumer;
+    private String message;
+
+    @Setup
+    public void setUp() {
+        mediaService = new RecordingMediaService();
+        consumer = new ProductDeleteKafkaConsumer(mediaService, new ObjectMapper());
+        String productId = Catalogs.objectId(42);
+        message = switch (payload) {
+            case "json" -> "{\"id\":\"" + productId + "\",\"mediaIds\":[\"" + Catalogs.objectId(1)
+                    + "\",\"" + Catalogs.objectId(2) + "\",\"" + Catalogs.objectId(3) + "\"]}";
+            case "productOnly" -> "{\"id\":\"" + productId + "\",\"mediaIds\":[]}";
+            default -> productId;
+        };
+    }
+
+    @Benchmark
+    public Object consumeProductDeleted() {
+        consumer.consumeProductDeleted(message);
+        return mediaService.lastDeleted;
+    }
+
+    private static final class RecordingMediaService extends MediaService {
+
+        private Object lastDeleted;
+
+        RecordingMediaService() {
+            super(null, null, null, null, null, null, null, null);
+        }
+
+        @Override
+        public void deleteMediaByIds(List<String> ids) {
+            lastDeleted = ids;
+        }
+
+        @Override
+        public void deleteMediaByProductId(String productId) {
+            lastDeleted = productId;
+        }
+    }
+}
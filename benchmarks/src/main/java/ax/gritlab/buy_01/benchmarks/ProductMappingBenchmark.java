@@ -0,0 +1,56 @@
+package ax.gritlab.buy_01.benchmarks;
+
+import ax.gritlab.buy_01.product.dto.ProductResponse;
+import ax.gritlab.buy_01.product.model.Product;
+import ax.gritlab.buy_01.product.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ProductService#toProductResponse} over a catalog page, as done for every product read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductMappingBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    private int size;
+
+    private ProductService productService;
+    private List<Product> products;
+
+    @Setup
+    public void setUp() {
+        // Mapping touches no collaborators
+        productService = new ProductService(null, null, null, null, null);
+        ReflectionTestUtils.setField(productService, "mediaPublicUrl", "https://localhost:8443/api/media");
+        products = Catalogs.products(size);
+    }
+
+    @Benchmark
+    public List<ProductResponse> toProductResponse() {
+        List<ProductResponse> responses = new ArrayList<>(products.size());
+        for (Product product : products) {
+            responses.add(productService.toProductResponse(product));
+        }
+        return responses;
+    }
+}
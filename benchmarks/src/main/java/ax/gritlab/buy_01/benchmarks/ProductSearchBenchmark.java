@@ -0,0 +1,72 @@
+package ax.gritlab.buy_01.benchmarks;
+
+import ax.gritlab.buy_01.product.model.Product;
+import ax.gritlab.buy_01.product.search.ProductSearchIndex;
+import ax.gritlab.buy_01.product.search.ProductSuggester;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Product search ({@code /products/search}) and typeahead ({@code /products/suggest}) lookups
+ * against the in-memory index and trie, with varied product names.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductSearchBenchmark {
+
+    private static final String[] ADJECTIVES = { "Red", "Oak", "Leather", "Vintage", "Compact", "Wireless",
+            "Ceramic", "Wool", "Steel", "Bamboo" };
+    private static final String[] NOUNS = { "chair", "lamp", "table", "mug", "bag", "speaker", "blanket",
+            "shelf", "kettle", "notebook", "stool", "vase" };
+
+    @Param({ "1000", "10000" })
+    private int size;
+
+    private ProductSearchIndex index;
+    private ProductSuggester suggester;
+
+    @Setup
+    public void setUp() {
+        index = new ProductSearchIndex();
+        suggester = new ProductSuggester(50_000);
+        List<Product> products = Catalogs.products(size);
+        for (int i = 0; i < products.size(); i++) {
+            Product product = products.get(i);
+            product.setName(ADJECTIVES[i % ADJECTIVES.length] + " " + NOUNS[i / ADJECTIVES.length % NOUNS.length]
+                    + " " + i);
+            index.put(product);
+            suggester.put(product);
+        }
+    }
+
+    @Benchmark
+    public ProductSearchIndex.Result searchTwoWords() {
+        return index.search("leather bag", 0, 20);
+    }
+
+    @Benchmark
+    public ProductSearchIndex.Result searchPrefix() {
+        return index.search("wirel", 0, 20);
+    }
+
+    @Benchmark
+    public List<ProductSuggester.Suggestion> suggest() {
+        return suggester.suggest("vintage ke", ProductSuggester.MAX_SUGGESTIONS);
+    }
+}
@@ -0,0 +1,104 @@
+package ax.gritlab.buy_01.benchmarks;
+
+import ax.gritlab.buy_01.user.model.PublicUserProfile;
+import ax.gritlab.buy_01.user.model.User;
+import org.bson.BsonBinaryReader;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading a user for the public profile endpoints: the full {@link User} document versus the
+ * {@link PublicUserProfile} projection returned by UserRepository. Both start from the BSON bytes
+ * the driver receives, so decoding and mapping are included. Run with {@code -prof gc} to compare
+ * allocation per read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserProfileReadBenchmark {
+
+    private static final DocumentCodec CODEC = new DocumentCodec();
+    private static final DecoderContext DECODER_CONTEXT = DecoderContext.builder().build();
+
+    private MappingMongoConverter converter;
+    private byte[] fullDocument;
+    private byte[] projectedDocument;
+
+    @Setup
+    public void setUp() {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.afterPropertiesSet();
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.afterPropertiesSet();
+
+        Document full = new Document();
+        converter.write(Fixtures.seller(), full);
+        // Same fields as UserRepository's projection: { name, email, role, avatar } plus _id
+        Document projected = new Document("_id", full.get("_id"))
+                .append("name", full.get("name"))
+                .append("email", full.get("email"))
+                .append("role", full.get("role"))
+                .append("avatar", full.get("avatar"));
+
+        fullDocument = toBytes(full);
+        projectedDocument = toBytes(projected);
+    }
+
+    /**
+     * Reports the size of the BSON document each benchmark decodes as the {@code documentBytes}
+     * secondary result.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class DocumentSize {
+        public long documentBytes;
+    }
+
+    @Benchmark
+    public User readFullUser(DocumentSize size) {
+        size.documentBytes = fullDocument.length;
+        return converter.read(User.class, decode(fullDocument));
+    }
+
+    @Benchmark
+    public PublicUserProfile readPublicProfile(DocumentSize size) {
+        size.documentBytes = projectedDocument.length;
+        return converter.read(PublicUserProfile.class, decode(projectedDocument));
+    }
+
+    private static Document decode(byte[] bytes) {
+        try (BsonBinaryReader reader = new BsonBinaryReader(ByteBuffer.wrap(bytes))) {
+            return CODEC.decode(reader, DECODER_CONTEXT);
+        }
+    }
+
+    private static byte[] toBytes(Document document) {
+        RawBsonDocument raw = new RawBsonDocument(document, CODEC);
+        ByteBuffer buffer = raw.getByteBuffer().asNIO();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
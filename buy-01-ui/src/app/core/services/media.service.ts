@@ -1,9 +1,12 @@
 import { Injectable, inject, signal } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
-import { Observable, tap, forkJoin } from 'rxjs';
+import { Observable, tap, forkJoin, map } from 'rxjs';
 import { environment } from '../../../environments/environment';
 import { validateFile, validateFiles, ValidationPresets } from '../validators/file-upload.validator';
 
+// Must match MediaService.MAX_BATCH_UPLOAD in media-service
+const MAX_BATCH_UPLOAD = 20;
+
 export interface Media {
   id: string;
   url: string;
@@ -51,8 +54,22 @@ export class MediaService {
       throw new Error(`Some files are invalid: ${invalidFiles.join('; ')}`);
     }
     
-    const uploads = files.map(file => this.uploadFile(file));
-    return forkJoin(uploads);
+    // One request, and one database insert, per batch of up to MAX_BATCH_UPLOAD files
+    const batches: File[][] = [];
+    for (let i = 0; i < files.length; i += MAX_BATCH_UPLOAD) {
+      batches.push(files.slice(i, i + MAX_BATCH_UPLOAD));
+    }
+    return forkJoin(batches.map(batch => this.uploadBatch(batch))).pipe(
+      map(results => results.flat())
+    );
+  }
+
+  private uploadBatch(files: File[]): Observable<Media[]> {
+    const formData = new FormData();
+    files.forEach(file => formData.append('files', file));
+    return this.http.post<Media[]>(`${this.API_URL}/images/batch`, formData).pipe(
+      tap(media => this.mediaSignal.update(mediaList => [...mediaList, ...media]))
+    );
   }
 
   getMediaUrl(id: string): string {
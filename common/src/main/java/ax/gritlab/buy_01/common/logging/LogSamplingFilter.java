@@ -0,0 +1,90 @@
+package ax.gritlab.buy_01.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Samples repetitive log messages: each message template is let through at most
+ * {@code allowedPerWindow} times per window, further events with the same template are dropped
+ * until the next window starts. WARN and ERROR are never sampled, so an error storm keeps every
+ * exception and stack trace; the async appender's queue is what bounds them.
+ * <p>
+ * Unlike logback's {@code DuplicateMessageFilter} the budget refills, so a recurring message is
+ * thinned out under load but never silenced for good. Keyed by the unformatted template, so no
+ * message is rendered for a dropped event.
+ */
+public class LogSamplingFilter extends TurboFilter {
+
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+    private final LongSupplier clock;
+
+    private int allowedPerWindow = 20;
+    private long windowMillis = 1000;
+    private int maxTemplates = 1000;
+
+    public LogSamplingFilter() {
+        this(System::currentTimeMillis);
+    }
+
+    LogSamplingFilter(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+            Throwable t) {
+        // isXxxEnabled() checks and events below the logger's level are not counted
+        if (format == null || level == null || !level.isGreaterOrEqual(logger.getEffectiveLevel())
+                || level.isGreaterOrEqual(Level.WARN)) {
+            return FilterReply.NEUTRAL;
+        }
+        long now = clock.getAsLong();
+        Window window = windows.get(format);
+        if (window == null) {
+            if (windows.size() >= maxTemplates) {
+                windows.clear();
+            }
+            window = windows.computeIfAbsent(format, key -> new Window(now));
+        }
+        return window.tryAcquire(now) ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    public void setAllowedPerWindow(int allowedPerWindow) {
+        this.allowedPerWindow = allowedPerWindow;
+    }
+
+    public void setWindowMillis(long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    public void setMaxTemplates(int maxTemplates) {
+        this.maxTemplates = maxTemplates;
+    }
+
+    private final class Window {
+
+        private volatile long start;
+        private final AtomicInteger count = new AtomicInteger();
+
+        Window(long start) {
+            this.start = start;
+        }
+
+        // Racing resets only let a few extra events through
+        boolean tryAcquire(long now) {
+            if (now - start >= windowMillis) {
+                start = now;
+                count.set(0);
+            }
+            return count.incrementAndGet() <= allowedPerWindow;
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package ax.gritlab.buy_01.common.mongo;
+
+import jakarta.annotation.PostConstruct;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Creates the indexes declared on the mapped entities ({@code @Indexed}, {@code @CompoundIndex}).
+ * Unique indexes enforce invariants, so they are created before the application takes traffic and
+ * a failure stops startup. The others are created once the application is ready, on a background
+ * thread so startup never waits for an index build. Creating an index that already exists is a
+ * no-op, so this runs on every start.
+ * <p>
+ * Afterwards every registered query shape is explained and the report is logged: shapes whose
+ * winning plan scans the whole collection (COLLSCAN) or sorts in memory (SORT) are flagged.
+ * Shapes the server cannot explain are checked against the declared indexes instead.
+ * <p>
+ * Each service declares its entities and query shapes in its own {@code MongoConfig}.
+ */
+public class MongoIndexManager {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoIndexManager.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+    private final List<Class<?>> entities;
+    private final List<QueryShape> queryShapes;
+
+    /**
+     * A query the service runs, with placeholder values; only its filter and sort matter.
+     */
+    public record QueryShape(String name, Class<?> entity, Query query) {
+    }
+
+    public MongoIndexManager(MongoTemplate mongoTemplate, MongoMappingContext mappingContext,
+            List<Class<?>> entities, List<QueryShape> queryShapes) {
+        this.mongoTemplate = mongoTemplate;
+        this.mappingContext = mappingContext;
+        this.entities = entities;
+        this.queryShapes = queryShapes;
+    }
+
+    /**
+     * Creates the unique indexes, e.g. on users' email, before any request can write a duplicate.
+     * Fails if existing documents violate one.
+     */
+    @PostConstruct
+    public void ensureUniqueIndexes() {
+        MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        for (Class<?> entity : entities) {
+            for (IndexDefinition index : resolver.resolveIndexFor(entity)) {
+                if (isUnique(index)) {
+                    mongoTemplate.indexOps(entity).createIndex(index);
+                }
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread thread = new Thread(() -> {
+            try {
+                ensureIndexes();
+                reportQueryPlans();
+            } catch (RuntimeException e) {
+                log.warn("Index creation stopped: {}", e.getMessage());
+            }
+        }, "mongo-index-manager");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void ensureIndexes() {
+        MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        for (Class<?> entity : entities) {
+            IndexOperations indexOps = mongoTemplate.indexOps(entity);
+            for (IndexDefinition index : resolver.resolveIndexFor(entity)) {
+                if (isUnique(index)) {
+                    continue;
+                }
+                try {
+                    indexOps.createIndex(index);
+                } catch (RuntimeException e) {
+                    // e.g. an index with the same name but different keys created by hand
+                    log.warn("Could not create index {} on {}: {}", index.getIndexKeys(),
+                            mongoTemplate.getCollectionName(entity), e.getMessage());
+                }
+            }
+            log.info("Indexes on {}: {}", mongoTemplate.getCollectionName(entity),
+                    indexOps.getIndexInfo().stream().map(info -> info.getName()).toList());
+        }
+    }
+
+    public List<String> reportQueryPlans() {
+        List<String> flagged = new ArrayList<>();
+        List<String> unserved = unservedQueryShapes();
+        int explained = 0;
+        for (QueryShape shape : queryShapes) {
+            try {
+                Document explain = mongoTemplate.getCollection(mongoTemplate.getCollectionName(shape.entity()))
+                        .find(shape.query().getQueryObject())
+                        .sort(shape.query().getSortObject())
+                        .explain();
+                Document winningPlan = explain.get("queryPlanner", new Document())
+                        .get("winningPlan", new Document());
+                Set<String> stages = new LinkedHashSet<>();
+                Set<String> indexes = new LinkedHashSet<>();
+                collectStages(winningPlan, stages, indexes);
+                explained++;
+                if (stages.contains("COLLSCAN") || stages.contains("SORT")) {
+                    flagged.add(shape.name());
+                    log.warn("Query '{}' is not fully indexed: {} {} sort {}", shape.name(), stages,
+                            shape.query().getQueryObject().toJson(), shape.query().getSortObject().toJson());
+                } else {
+                    log.info("Query '{}' uses index {}", shape.name(), indexes);
+                }
+            } catch (RuntimeException e) {
+                // e.g. in-memory servers without explain
+                log.debug("Could not explain query '{}'", shape.name(), e);
+                if (unserved.contains(shape.name())) {
+                    flagged.add(shape.name());
+                    log.warn("Query '{}' is not served by any declared index: {} sort {}", shape.name(),
+                            shape.query().getQueryObject().toJson(), shape.query().getSortObject().toJson());
+                }
+            }
+        }
+        log.info("Query plan report: {} of {} query shapes not fully indexed ({} checked against the declared indexes "
+                        + "because the server could not explain them){}",
+                flagged.size(), queryShapes.size(), queryShapes.size() - explained,
+                flagged.isEmpty() ? "" : " " + flagged);
+        return flagged;
+    }
+
+    /**
+     * Query shapes that no declared index serves without a collection scan or an in-memory sort.
+     * A static stand-in for explain: an index serves a sorted shape when its leading keys are
+     * equality fields of the filter followed by the sort keys in order, all in the same or all in
+     * the reverse direction, and an unsorted shape when its first key is filtered on.
+     */
+    public List<String> unservedQueryShapes() {
+        MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        List<String> unserved = new ArrayList<>();
+        for (QueryShape shape : queryShapes) {
+            List<Document> indexes = new ArrayList<>();
+            // Every collection has the _id index
+            indexes.add(new Document("_id", 1));
+            resolver.resolveIndexFor(shape.entity()).forEach(index -> indexes.add(index.getIndexKeys()));
+            if (indexes.stream().noneMatch(keys -> serves(keys, shape.query()))) {
+                unserved.add(shape.name());
+            }
+        }
+        return unserved;
+    }
+
+    /**
+     * Whether an index with these keys serves the query without a collection scan or an
+     * in-memory sort (see {@link #unservedQueryShapes()}).
+     */
+    public static boolean serves(Document indexKeys, Query query) {
+        List<String> keys = new ArrayList<>(indexKeys.keySet());
+        Document filter = query.getQueryObject();
+        Document sort = query.getSortObject();
+        if (sort.isEmpty()) {
+            return !keys.isEmpty() && filter.containsKey(keys.get(0));
+        }
+        int position = 0;
+        while (position < keys.size() && isEquality(filter, keys.get(position))) {
+            position++;
+        }
+        int direction = 0;
+        for (String field : sort.keySet()) {
+            if (position >= keys.size() || !keys.get(position).equals(field)
+                    || !(indexKeys.get(field) instanceof Number indexOrder)
+                    || !(sort.get(field) instanceof Number sortOrder)) {
+                return false;
+            }
+            int relative = Integer.signum(indexOrder.intValue()) * Integer.signum(sortOrder.intValue());
+            if (direction != 0 && relative != direction) {
+                return false;
+            }
+            direction = relative;
+            position++;
+        }
+        return true;
+    }
+
+    private static boolean isEquality(Document filter, String field) {
+        if (!filter.containsKey(field)) {
+            return false;
+        }
+        if (filter.get(field) instanceof Document condition) {
+            return condition.keySet().stream().noneMatch(key -> key.startsWith("$"))
+                    || condition.keySet().equals(Set.of("$eq"));
+        }
+        return true;
+    }
+
+    private static boolean isUnique(IndexDefinition index) {
+        return Boolean.TRUE.equals(index.getIndexOptions().get("unique"));
+    }
+
+    // Walks inputStage/inputStages (and the queryPlan wrapper of newer servers)
+    private static void collectStages(Document plan, Set<String> stages, Set<String> indexes) {
+        if (plan.containsKey("queryPlan")) {
+            collectStages(plan.get("queryPlan", Document.class), stages, indexes);
+            return;
+        }
+        if (plan.getString("stage") != null) {
+            stages.add(plan.getString("stage"));
+        }
+        if (plan.getString("indexName") != null) {
+            indexes.add(plan.getString("indexName"));
+        }
+        if (plan.get("inputStage") instanceof Document input) {
+            collectStages(input, stages, indexes);
+        }
+        if (plan.get("inputStages") instanceof List<?> inputs) {
+            for (Object input : inputs) {
+                if (input instanceof Document document) {
+                    collectStages(document, stages, indexes);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package ax.gritlab.buy_01.common.tracing;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.observability.ContextProviderFactory;
+import org.springframework.data.mongodb.observability.MongoObservationCommandListener;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Tracing setup shared by the gateway and the services. Each application only sets
+ * {@code tracing.file-export.*} and the sampling properties in its own configuration.
+ */
+@AutoConfiguration
+@ConditionalOnClass(SpanExporter.class)
+public class TracingAutoConfiguration {
+
+    // Picked up by Boot's OpenTelemetry setup next to any other exporter
+    @Bean
+    @ConditionalOnProperty(name = "tracing.file-export.enabled", havingValue = "true")
+    public SpanExporter fileSpanExporter(@Value("${tracing.file-export.path}") String path) throws IOException {
+        return new FileSpanExporter(Path.of(path));
+    }
+
+    // Only the services talk to Mongo; the gateway has no driver on its classpath
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MongoObservationCommandListener.class)
+    static class MongoTracingConfiguration {
+
+        // Mongo commands become child spans of the current request or Kafka listener span
+        @Bean
+        public MongoClientSettingsBuilderCustomizer mongoObservationCustomizer(ObservationRegistry observationRegistry) {
+            return builder -> builder
+                    .contextProvider(ContextProviderFactory.create(observationRegistry))
+                    .addCommandListener(new MongoObservationCommandListener(observationRegistry));
+        }
+    }
+}
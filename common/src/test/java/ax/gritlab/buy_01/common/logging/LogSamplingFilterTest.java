@@ -0,0 +1,77 @@
+package ax.gritlab.buy_01.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LogSamplingFilterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000);
+    private final LogSamplingFilter filter = new LogSamplingFilter(clock::get);
+    private final Logger logger = new LoggerContext().getLogger("test");
+
+    public LogSamplingFilterTest() {
+        filter.setAllowedPerWindow(2);
+        filter.setWindowMillis(1000);
+        logger.setLevel(Level.DEBUG);
+    }
+
+    @Test
+    public void testTemplateIsThinnedOutAndRefilledNextWindow() {
+        assertEquals(FilterReply.NEUTRAL, decide(Level.INFO, "Served {}"));
+        assertEquals(FilterReply.NEUTRAL, decide(Level.INFO, "Served {}"));
+        assertEquals(FilterReply.DENY, decide(Level.INFO, "Served {}"));
+
+        // Other templates have their own budget
+        assertEquals(FilterReply.NEUTRAL, decide(Level.DEBUG, "Cached {}"));
+
+        clock.addAndGet(999);
+        assertEquals(FilterReply.DENY, decide(Level.INFO, "Served {}"));
+        clock.addAndGet(1);
+        assertEquals(FilterReply.NEUTRAL, decide(Level.INFO, "Served {}"));
+        assertEquals(FilterReply.NEUTRAL, decide(Level.INFO, "Served {}"));
+        assertEquals(FilterReply.DENY, decide(Level.INFO, "Served {}"));
+    }
+
+    @Test
+    public void testWarnAndErrorAreNeverSampled() {
+        for (int i = 0; i < 10; i++) {
+            assertEquals(FilterReply.NEUTRAL, decide(Level.WARN, "Lookup failed: {}"));
+            assertEquals(FilterReply.NEUTRAL, decide(Level.ERROR, "Request failed"));
+        }
+    }
+
+    @Test
+    public void testEventsBelowLoggerLevelAreNotCounted() {
+        logger.setLevel(Level.INFO);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(FilterReply.NEUTRAL, decide(Level.DEBUG, "Served {}"));
+        }
+        assertEquals(FilterReply.NEUTRAL, decide(Level.INFO, "Served {}"));
+        assertEquals(FilterReply.NEUTRAL, decide(Level.INFO, "Served {}"));
+        assertEquals(FilterReply.DENY, decide(Level.INFO, "Served {}"));
+    }
+
+    @Test
+    public void testTemplateTableIsResetAtMaxTemplates() {
+        filter.setMaxTemplates(2);
+        decide(Level.INFO, "a {}");
+        decide(Level.INFO, "a {}");
+        decide(Level.INFO, "b {}");
+        assertEquals(FilterReply.DENY, decide(Level.INFO, "a {}"));
+
+        // A third template clears the table, so "a" starts over with a full budget
+        assertEquals(FilterReply.NEUTRAL, decide(Level.INFO, "c {}"));
+        assertEquals(FilterReply.NEUTRAL, decide(Level.INFO, "a {}"));
+    }
+
+    private FilterReply decide(Level level, String format) {
+        return filter.decide(null, logger, level, format, null, null);
+    }
+}
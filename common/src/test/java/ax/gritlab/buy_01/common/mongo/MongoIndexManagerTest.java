@@ -0,0 +1,68 @@
+package ax.gritlab.buy_01.common.mongo;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+public class MongoIndexManagerTest {
+
+    private static final Query SELLER_NEWEST_FIRST = Query.query(where("userId").is("seller"))
+            .with(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("_id")));
+
+    @org.springframework.data.mongodb.core.mapping.Document("accounts")
+    static class Account {
+        @Id
+        String id;
+        @Indexed(unique = true)
+        String email;
+        String name;
+    }
+
+    @Test
+    public void testUnindexedShapeIsReported() {
+        MongoIndexManager manager = new MongoIndexManager(null, new MongoMappingContext(), List.of(Account.class),
+                List.of(new MongoIndexManager.QueryShape("account by email", Account.class,
+                                Query.query(where("email").is("someone@example.com"))),
+                        new MongoIndexManager.QueryShape("account by name", Account.class,
+                                Query.query(where("name").is("Someone")))));
+
+        assertEquals(List.of("account by name"), manager.unservedQueryShapes());
+    }
+
+    @Test
+    public void testSortMustFollowEqualityPrefix() {
+        // {userId, createdAt} leaves the _id tie-break to an in-memory sort
+        assertFalse(MongoIndexManager.serves(new Document("userId", 1).append("createdAt", -1), SELLER_NEWEST_FIRST));
+        assertTrue(MongoIndexManager.serves(
+                new Document("userId", 1).append("createdAt", -1).append("_id", -1), SELLER_NEWEST_FIRST));
+        // An index on the sort alone also avoids the in-memory sort; the seller is filtered while walking it
+        assertTrue(MongoIndexManager.serves(new Document("createdAt", -1).append("_id", -1), SELLER_NEWEST_FIRST));
+    }
+
+    @Test
+    public void testSortDirectionsMustAllMatchOrAllBeReversed() {
+        Document index = new Document("price", 1).append("_id", 1);
+
+        assertTrue(MongoIndexManager.serves(index,
+                new Query().with(Sort.by(Sort.Order.desc("price"), Sort.Order.desc("_id")))));
+        assertFalse(MongoIndexManager.serves(index,
+                new Query().with(Sort.by(Sort.Order.asc("price"), Sort.Order.desc("_id")))));
+    }
+
+    @Test
+    public void testUnsortedShapeNeedsFilteredLeadingKey() {
+        Query inStock = Query.query(where("quantity").gt(0));
+
+        assertTrue(MongoIndexManager.serves(new Document("quantity", 1), inStock));
+        assertFalse(MongoIndexManager.serves(new Document("price", 1).append("quantity", 1), inStock));
+    }
+}
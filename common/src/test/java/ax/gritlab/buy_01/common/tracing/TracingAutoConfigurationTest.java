@@ -0,0 +1,38 @@
+package ax.gritlab.buy_01.common.tracing;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TracingAutoConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(TracingAutoConfiguration.class))
+            .withBean(ObservationRegistry.class, ObservationRegistry::create);
+
+    @Test
+    public void testFileExportIsOffByDefault() {
+        contextRunner.run(context -> {
+            assertTrue(context.getBeansOfType(SpanExporter.class).isEmpty());
+            assertNotNull(context.getBean(MongoClientSettingsBuilderCustomizer.class));
+        });
+    }
+
+    @Test
+    public void testFileExportWritesToConfiguredPath(@TempDir Path dir) {
+        Path file = dir.resolve("traces/spans.jsonl");
+        contextRunner.withPropertyValues("tracing.file-export.enabled=true", "tracing.file-export.path=" + file)
+                .run(context -> {
+                    assertInstanceOf(FileSpanExporter.class, context.getBean(SpanExporter.class));
+                    assertTrue(file.getParent().toFile().isDirectory());
+                });
+    }
+}
@@ -0,0 +1,141 @@
+package ax.gritlab.buy_01.loadtest;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Writes a synthetic catalog straight into the stand-in MongoDB and the media storage directory,
+ * in the same document shapes the services persist. The same seed always produces the same catalog.
+ */
+public class CatalogSeeder {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSeeder.class);
+
+    static final String PASSWORD = "load-test-password";
+
+    // Fixed ObjectId timestamp (2025-01-01) so ids depend only on insertion order
+    private static final int ID_TIMESTAMP = 1_735_689_600;
+
+    private final StandIns standIns;
+    private final LoadTestOptions options;
+    private int idCounter;
+
+    public CatalogSeeder(StandIns standIns, LoadTestOptions options) {
+        this.standIns = standIns;
+        this.options = options;
+    }
+
+    public SeededCatalog seed(Path mediaStorage, String gatewayUrl) throws IOException {
+        Random random = new Random(options.seed());
+        // One hash for every account: BCrypt is deliberately slow
+        String passwordHash = new BCryptPasswordEncoder().encode(PASSWORD);
+        Date now = new Date();
+
+        try (MongoClient client = MongoClients.create(standIns.mongoConnectionString())) {
+            MongoCollection<Document> users = client.getDatabase("userdb").getCollection("users");
+            MongoCollection<Document> products = client.getDatabase("productdb").getCollection("products");
+            MongoCollection<Document> media = client.getDatabase("mediadb").getCollection("media");
+
+            List<String> sellerIds = new ArrayList<>();
+            List<String> sellerEmails = new ArrayList<>();
+            List<Document> userDocuments = new ArrayList<>();
+            for (int i = 0; i < options.sellers(); i++) {
+                ObjectId id = nextId();
+                String email = "seller" + i + "@load.test";
+                sellerIds.add(id.toHexString());
+                sellerEmails.add(email);
+                userDocuments.add(user(id, "Seller " + i, email, passwordHash, "SELLER"));
+            }
+            for (int i = 0; i < options.clients(); i++) {
+                userDocuments.add(user(nextId(), "Client " + i, "client" + i + "@load.test", passwordHash, "CLIENT"));
+            }
+            if (!userDocuments.isEmpty()) {
+                users.insertMany(userDocuments);
+            }
+
+            byte[] image = new byte[options.imageBytes()];
+            List<String> productIds = new ArrayList<>();
+            List<String> mediaIds = new ArrayList<>();
+            List<Document> productDocuments = new ArrayList<>();
+            List<Document> mediaDocuments = new ArrayList<>();
+            for (int i = 0; i < options.products(); i++) {
+                ObjectId productId = nextId();
+                String sellerId = sellerIds.get(i % sellerIds.size());
+                List<String> productMediaIds = new ArrayList<>();
+                for (int m = 0; m < options.imagesPerProduct(); m++) {
+                    ObjectId mediaId = nextId();
+                    String filename = mediaId.toHexString() + ".jpg";
+                    random.nextBytes(image);
+                    Files.write(mediaStorage.resolve(filename), image);
+                    mediaDocuments.add(new Document("_id", mediaId)
+                            .append("originalFilename", "photo-" + i + "-" + m + ".jpg")
+                            .append("contentType", "image/jpeg")
+                            .append("size", (long) image.length)
+                            .append("filePath", filename)
+                            .append("userId", sellerId)
+                            .append("productId", productId.toHexString())
+                            .append("url", gatewayUrl + "/api/media/images/" + mediaId.toHexString())
+                            .append("createdAt", now)
+                            .append("updatedAt", now)
+                            .append("_class", "ax.gritlab.buy_01.media.model.Media"));
+                    productMediaIds.add(mediaId.toHexString());
+                    mediaIds.add(mediaId.toHexString());
+                }
+                productDocuments.add(new Document("_id", productId)
+                        .append("name", "Product " + i)
+                        .append("description", "Synthetic product " + i + " seeded for load testing.")
+                        .append("price", Math.round((1 + random.nextDouble() * 499) * 100) / 100.0)
+                        .append("quantity", random.nextInt(100))
+                        .append("userId", sellerId)
+                        .append("mediaIds", productMediaIds)
+                        .append("createdAt", now)
+                        .append("updatedAt", now)
+                        .append("_class", "ax.gritlab.buy_01.product.model.Product"));
+                productIds.add(productId.toHexString());
+            }
+            if (!productDocuments.isEmpty()) {
+                products.insertMany(productDocuments);
+            }
+            if (!mediaDocuments.isEmpty()) {
+                media.insertMany(mediaDocuments);
+            }
+
+            log.info("Seeded {} sellers, {} clients, {} products, {} images of {} bytes",
+                    options.sellers(), options.clients(), productIds.size(), mediaIds.size(), options.imageBytes());
+            return new SeededCatalog(sellerEmails, productIds, mediaIds);
+        }
+    }
+
+    private ObjectId nextId() {
+        return new ObjectId(ID_TIMESTAMP, idCounter++);
+    }
+
+    private static Document user(ObjectId id, String name, String email, String passwordHash, String role) {
+        return new Document("_id", id)
+                .append("name", name)
+                .append("email", email)
+                .append("password", passwordHash)
+                .append("role", role)
+                .append("_class", "ax.gritlab.buy_01.user.model.User");
+    }
+
+    /**
+     * Identifiers the workload picks from.
+     */
+    public record SeededCatalog(List<String> sellerEmails, List<String> productIds, List<String> mediaIds) {
+    }
+}
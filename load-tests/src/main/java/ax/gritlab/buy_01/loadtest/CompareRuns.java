@@ -0,0 +1,87 @@
+package ax.gritlab.buy_01.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Prints two runs side by side from their {@code summary.json}: throughput and latency per route,
+ * heap, RSS and threads per service. Typically a platform thread run against a virtual thread run:
+ * {@code java -cp load-tests/target/load-tests.jar ax.gritlab.buy_01.loadtest.CompareRuns results/platform results/virtual}.
+ */
+public final class CompareRuns {
+
+    private CompareRuns() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: CompareRuns <baseline result dir> <candidate result dir>");
+        }
+        ObjectMapper objectMapper = new ObjectMapper();
+        JsonNode baseline = objectMapper.readTree(Path.of(args[0]).resolve("summary.json").toFile());
+        JsonNode candidate = objectMapper.readTree(Path.of(args[1]).resolve("summary.json").toFile());
+
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("baseline:  %s (virtualThreads=%s)%n", args[0],
+                baseline.path("options").path("virtualThreads").asText()));
+        out.append(String.format("candidate: %s (virtualThreads=%s)%n%n", args[1],
+                candidate.path("options").path("virtualThreads").asText()));
+
+        out.append(String.format("%-24s %14s %14s %8s%n", "", "baseline", "candidate", "change"));
+        row(out, "total req/s", baseline.path("throughputPerSecond"), candidate.path("throughputPerSecond"));
+        row(out, "total errors", baseline.path("totalErrors"), candidate.path("totalErrors"));
+
+        for (JsonNode route : baseline.path("routes")) {
+            String name = route.path("route").asText();
+            JsonNode other = find(candidate.path("routes"), name);
+            out.append(String.format("%n%s%n", route.path("endpoint").asText()));
+            row(out, "  req/s", route.path("throughputPerSecond"), other.path("throughputPerSecond"));
+            for (String percentile : new String[] { "p50", "p99", "p99.9" }) {
+                row(out, "  " + percentile + " ms", route.path("latencyMs").path(percentile),
+                        other.path("latencyMs").path(percentile));
+            }
+        }
+
+        Set<String> services = new LinkedHashSet<>();
+        baseline.path("services").fieldNames().forEachRemaining(services::add);
+        candidate.path("services").fieldNames().forEachRemaining(services::add);
+        for (String service : services) {
+            JsonNode left = baseline.path("services").path(service);
+            JsonNode right = candidate.path("services").path(service);
+            out.append(String.format("%n%s%n", service));
+            for (String series : new String[] { "heapUsedMb", "heapCommittedMb", "rssMb", "liveThreads" }) {
+                row(out, "  " + series + " mean", left.path(series).path("mean"), right.path(series).path("mean"));
+                row(out, "  " + series + " max", left.path(series).path("max"), right.path(series).path("max"));
+            }
+            row(out, "  peakThreads", left.path("peakThreads"), right.path("peakThreads"));
+        }
+        System.out.print(out);
+    }
+
+    private static JsonNode find(JsonNode routes, String name) {
+        for (JsonNode route : routes) {
+            if (name.equals(route.path("route").asText())) {
+                return route;
+            }
+        }
+        return MissingNode.getInstance();
+    }
+
+    private static void row(StringBuilder out, String label, JsonNode baseline, JsonNode candidate) {
+        String change = "";
+        if (baseline.isNumber() && candidate.isNumber() && baseline.asDouble() != 0) {
+            change = String.format("%+.1f%%", (candidate.asDouble() / baseline.asDouble() - 1) * 100);
+        }
+        out.append(String.format("%-24s %14s %14s %8s%n", label, format(baseline), format(candidate), change));
+    }
+
+    private static String format(JsonNode value) {
+        return value.isNumber() ? String.format("%.2f", value.asDouble()) : "n/a";
+    }
+}
@@ -0,0 +1,70 @@
+package ax.gritlab.buy_01.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-route latency histograms (microsecond resolution, up to one minute) and error counts.
+ * Nothing is recorded until {@link #startMeasuring()} so warm-up traffic does not skew results.
+ */
+public class LatencyRecorder {
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<Route, RouteStats> stats = new EnumMap<>(Route.class);
+    private volatile boolean measuring;
+
+    public LatencyRecorder() {
+        for (Route route : Route.values()) {
+            stats.put(route, new RouteStats());
+        }
+    }
+
+    public void startMeasuring() {
+        measuring = true;
+    }
+
+    public void stopMeasuring() {
+        measuring = false;
+    }
+
+    public boolean isMeasuring() {
+        return measuring;
+    }
+
+    /**
+     * @param status HTTP status, or 0 when no response arrived (timeout, connection error)
+     */
+    public void record(Route route, long latencyNanos, int status) {
+        if (!measuring) {
+            return;
+        }
+        RouteStats routeStats = stats.get(route);
+        if (status != 0) {
+            routeStats.histogram.recordValue(Math.min(MAX_TRACKABLE_MICROS,
+                    Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos))));
+        }
+        if (status < 200 || status >= 300) {
+            routeStats.errors.computeIfAbsent(status, s -> new LongAdder()).increment();
+        }
+    }
+
+    public Histogram histogram(Route route) {
+        return stats.get(route).histogram;
+    }
+
+    public Map<Integer, LongAdder> errors(Route route) {
+        return stats.get(route).errors;
+    }
+
+    private static final class RouteStats {
+        private final Histogram histogram = new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3);
+        private final Map<Integer, LongAdder> errors = new ConcurrentHashMap<>();
+    }
+}
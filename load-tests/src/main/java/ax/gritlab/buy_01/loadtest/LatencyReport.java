@@ -0,0 +1,147 @@
+package ax.gritlab.buy_01.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Writes the results of a run to the output directory:
+ * <ul>
+ * <li>{@code summary.json}: options, throughput, error counts and latency percentiles per route, and
+ * heap, RSS and thread counts per service</li>
+ * <li>{@code <route>.hgrm}: full HdrHistogram percentile distribution in milliseconds, for plotting</li>
+ * </ul>
+ * and prints summary tables.
+ */
+public class LatencyReport {
+
+    private static final Logger log = LoggerFactory.getLogger(LatencyReport.class);
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+    private static final double BYTES_PER_MB = 1024.0 * 1024.0;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    public void write(LoadTestOptions options, LatencyRecorder recorder,
+            Map<String, ResourceSampler.ServiceStats> resources) throws IOException {
+        Files.createDirectories(options.outputDir());
+        double seconds = options.duration().toMillis() / 1000.0;
+
+        ObjectNode summary = objectMapper.createObjectNode();
+        ObjectNode settings = summary.putObject("options");
+        settings.put("sellers", options.sellers());
+        settings.put("clients", options.clients());
+        settings.put("products", options.products());
+        settings.put("imagesPerProduct", options.imagesPerProduct());
+        settings.put("imageBytes", options.imageBytes());
+        settings.put("seed", options.seed());
+        settings.put("concurrency", options.concurrency());
+        settings.put("rate", options.rate());
+        settings.put("warmupSeconds", options.warmup().toSeconds());
+        settings.put("durationSeconds", options.duration().toSeconds());
+        settings.put("virtualThreads", options.virtualThreads());
+        settings.put("gatewayCache", options.gatewayCache());
+        settings.put("gatewayRateLimit", options.gatewayRateLimit());
+        settings.put("traceSampling", options.traceSampling());
+        ObjectNode mix = settings.putObject("mix");
+        options.mix().forEach((route, weight) -> mix.put(route.optionName(), weight));
+
+        ArrayNode routes = summary.putArray("routes");
+        long totalRequests = 0;
+        long totalErrors = 0;
+        StringBuilder table = new StringBuilder(String.format("%n%-32s %9s %9s %8s %9s %9s %9s %9s %9s%n",
+                "route", "requests", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+
+        for (Route route : options.mix().keySet()) {
+            Histogram histogram = recorder.histogram(route);
+            Map<Integer, Long> errors = new TreeMap<>();
+            recorder.errors(route).forEach((status, count) -> errors.put(status, count.sum()));
+            long errorCount = errors.values().stream().mapToLong(Long::longValue).sum();
+            long requests = histogram.getTotalCount() + errors.getOrDefault(0, 0L);
+            totalRequests += requests;
+            totalErrors += errorCount;
+
+            ObjectNode node = routes.addObject();
+            node.put("route", route.optionName());
+            node.put("endpoint", route.label());
+            node.put("requests", requests);
+            node.put("throughputPerSecond", requests / seconds);
+            ObjectNode errorNode = node.putObject("errors");
+            errors.forEach((status, count) -> errorNode.put(status == 0 ? "no-response" : status.toString(), count));
+            ObjectNode latency = node.putObject("latencyMs");
+            latency.put("mean", histogram.getMean() / MICROS_PER_MILLI);
+            latency.put("p50", millis(histogram, 50));
+            latency.put("p90", millis(histogram, 90));
+            latency.put("p99", millis(histogram, 99));
+            latency.put("p99.9", millis(histogram, 99.9));
+            latency.put("max", histogram.getMaxValue() / MICROS_PER_MILLI);
+
+            try (PrintStream out = new PrintStream(
+                    Files.newOutputStream(options.outputDir().resolve(route.optionName() + ".hgrm")))) {
+                histogram.outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+
+            table.append(String.format("%-32s %9d %9.1f %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    route.label(), requests, requests / seconds, errorCount,
+                    millis(histogram, 50), millis(histogram, 90), millis(histogram, 99),
+                    millis(histogram, 99.9), histogram.getMaxValue() / MICROS_PER_MILLI));
+        }
+        summary.put("totalRequests", totalRequests);
+        summary.put("totalErrors", totalErrors);
+        summary.put("throughputPerSecond", totalRequests / seconds);
+        table.append(String.format("%-32s %9d %9.1f %8d%n", "total", totalRequests, totalRequests / seconds, totalErrors));
+
+        ObjectNode servicesNode = summary.putObject("services");
+        table.append(String.format("%n%-16s %8s %15s %15s %15s %13s %9s%n",
+                "service", "samples", "heap used MB", "heap commit MB", "rss MB", "live threads", "peak"));
+        resources.forEach((service, stats) -> {
+            ObjectNode node = servicesNode.putObject(service);
+            node.put("samples", stats.samples());
+            putSeries(node, "heapUsedMb", stats.heapUsedBytes(), BYTES_PER_MB);
+            putSeries(node, "heapCommittedMb", stats.heapCommittedBytes(), BYTES_PER_MB);
+            putSeries(node, "rssMb", stats.rssBytes(), BYTES_PER_MB);
+            putSeries(node, "liveThreads", stats.liveThreads(), 1);
+            if (!stats.peakThreads().isEmpty()) {
+                node.put("peakThreads", (long) stats.peakThreads().max());
+            }
+            table.append(String.format("%-16s %8d %15s %15s %15s %13s %9.0f%n", service, stats.samples(),
+                    meanMax(stats.heapUsedBytes(), BYTES_PER_MB), meanMax(stats.heapCommittedBytes(), BYTES_PER_MB),
+                    meanMax(stats.rssBytes(), BYTES_PER_MB), meanMax(stats.liveThreads(), 1),
+                    stats.peakThreads().max()));
+        });
+
+        objectMapper.writeValue(options.outputDir().resolve("summary.json").toFile(), summary);
+        log.info("{}", table);
+        log.info("Results written to {}", options.outputDir());
+    }
+
+    // { "mean": ..., "max": ... } in the given unit; omitted when no sample could be read
+    private static void putSeries(ObjectNode node, String name, ResourceSampler.Series series, double unit) {
+        if (series.isEmpty()) {
+            return;
+        }
+        ObjectNode values = node.putObject(name);
+        values.put("mean", series.mean() / unit);
+        values.put("max", series.max() / unit);
+    }
+
+    private static String meanMax(ResourceSampler.Series series, double unit) {
+        return series.isEmpty() ? "n/a" : String.format("%.0f / %.0f", series.mean() / unit, series.max() / unit);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+}
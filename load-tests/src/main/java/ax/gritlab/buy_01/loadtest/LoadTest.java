@@ -0,0 +1,51 @@
+package ax.gritlab.buy_01.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.FileSystemUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * End-to-end load test: starts MongoDB and Kafka stand-ins, seeds a synthetic catalog, boots the
+ * services from their jars and drives a browse/upload/delete mix through api-gateway.
+ * <p>
+ * Build the services first ({@code mvn package -DskipTests}), then run e.g.
+ * {@code java -jar load-tests/target/load-tests.jar --products=5000 --concurrency=64 --duration=120}.
+ */
+public final class LoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTest.class);
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        Path mediaStorage = Files.createTempDirectory("load-test-media");
+        try (StandIns standIns = StandIns.start();
+                ServiceProcesses services = new ServiceProcesses(options, standIns)) {
+            CatalogSeeder.SeededCatalog catalog = new CatalogSeeder(standIns, options)
+                    .seed(mediaStorage, services.gatewayUrl());
+            services.start(mediaStorage);
+
+            LatencyRecorder recorder = new LatencyRecorder();
+            Workload workload = new Workload(options, catalog, services.gatewayUrl(), recorder);
+            workload.login();
+            ResourceSampler sampler = new ResourceSampler(services.services(), recorder);
+            sampler.start();
+            try {
+                workload.run();
+            } finally {
+                sampler.close();
+            }
+            new LatencyReport().write(options, recorder, sampler.stats());
+        } finally {
+            FileSystemUtils.deleteRecursively(mediaStorage);
+        }
+        log.info("Load test finished");
+        // Embedded Kafka leaves non-daemon threads behind
+        System.exit(0);
+    }
+}
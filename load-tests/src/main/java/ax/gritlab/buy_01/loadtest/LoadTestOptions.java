@@ -0,0 +1,97 @@
+package ax.gritlab.buy_01.loadtest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command-line options, given as {@code --name=value}. Every option has a default, so a bare
+ * {@code java -jar load-tests.jar} runs a small, reproducible scenario.
+ */
+public record LoadTestOptions(
+        Path repoDir,
+        Path outputDir,
+        int sellers,
+        int clients,
+        int products,
+        int imagesPerProduct,
+        int imageBytes,
+        long seed,
+        int concurrency,
+        double rate,
+        Duration warmup,
+        Duration duration,
+        Map<Route, Integer> mix,
+        boolean virtualThreads,
+        boolean gatewayCache,
+        boolean gatewayRateLimit,
+        double traceSampling,
+        String serviceJvmOptions) {
+
+    static final String DEFAULT_MIX =
+            "browse:30,product:25,bff:10,image:25,upload:4,delete-media:3,create-product:2,delete-product:1";
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        Path repoDir = Path.of(values.getOrDefault("repo-dir", defaultRepoDir())).toAbsolutePath().normalize();
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path outputDir = Path.of(values.getOrDefault("out",
+                repoDir.resolve("load-tests/target/load-results/" + timestamp).toString()));
+
+        return new LoadTestOptions(
+                repoDir,
+                outputDir.toAbsolutePath().normalize(),
+                Integer.parseInt(values.getOrDefault("sellers", "20")),
+                Integer.parseInt(values.getOrDefault("clients", "50")),
+                Integer.parseInt(values.getOrDefault("products", "1000")),
+                Integer.parseInt(values.getOrDefault("images-per-product", "3")),
+                Integer.parseInt(values.getOrDefault("image-bytes", "65536")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Integer.parseInt(values.getOrDefault("concurrency", "32")),
+                Double.parseDouble(values.getOrDefault("rate", "0")),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup", "15"))),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "60"))),
+                parseMix(values.getOrDefault("mix", DEFAULT_MIX)),
+                Boolean.parseBoolean(values.getOrDefault("virtual-threads", "false")),
+                Boolean.parseBoolean(values.getOrDefault("gateway-cache", "true")),
+                Boolean.parseBoolean(values.getOrDefault("gateway-rate-limit", "false")),
+                Double.parseDouble(values.getOrDefault("trace-sampling", "0")),
+                values.getOrDefault("service-jvm-options", "-Xmx512m"));
+    }
+
+    static Map<Route, Integer> parseMix(String mix) {
+        Map<Route, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected route:weight in --mix but got: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1]);
+            if (weight > 0) {
+                weights.put(Route.fromName(parts[0]), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("--mix has no route with a positive weight");
+        }
+        return weights;
+    }
+
+    // Works from the repository root and from load-tests/
+    private static String defaultRepoDir() {
+        return Files.exists(Path.of("load-tests")) ? "." : "..";
+    }
+}
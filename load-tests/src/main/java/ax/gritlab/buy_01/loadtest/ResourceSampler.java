@@ -0,0 +1,193 @@
+package ax.gritlab.buy_01.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples heap, resident set size and thread counts of every service JVM once per second while
+ * the recorder is measuring, so platform and virtual thread runs can be compared on memory too.
+ * <p>
+ * Heap and threads come from {@code /actuator/metrics} on each service's management port
+ * ({@code jvm.memory.used} and {@code jvm.memory.committed} with {@code area:heap},
+ * {@code jvm.threads.live}, {@code jvm.threads.peak}); virtual threads are not counted there, so the
+ * thread figures are platform threads, carriers included. RSS is read from
+ * {@code /proc/<pid>/status} and is missing on systems without procfs.
+ */
+public class ResourceSampler implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ResourceSampler.class);
+
+    private static final Duration INTERVAL = Duration.ofSeconds(1);
+
+    private final List<ServiceProcesses.Service> services;
+    private final LatencyRecorder recorder;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(500)).build();
+    private final Map<String, ServiceStats> stats = new LinkedHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "resource-sampler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ResourceSampler(List<ServiceProcesses.Service> services, LatencyRecorder recorder) {
+        this.services = services;
+        this.recorder = recorder;
+        for (ServiceProcesses.Service service : services) {
+            stats.put(service.name(), new ServiceStats());
+        }
+    }
+
+    public void start() {
+        scheduler.scheduleAtFixedRate(this::sampleAll, 0, INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Per-service statistics, in launch order. Read them after {@link #close()}.
+     */
+    public Map<String, ServiceStats> stats() {
+        return stats;
+    }
+
+    private void sampleAll() {
+        if (!recorder.isMeasuring()) {
+            return;
+        }
+        for (ServiceProcesses.Service service : services) {
+            ServiceStats serviceStats = stats.get(service.name());
+            serviceStats.samples++;
+            serviceStats.heapUsedBytes.add(metric(service, "jvm.memory.used", "area:heap"));
+            serviceStats.heapCommittedBytes.add(metric(service, "jvm.memory.committed", "area:heap"));
+            serviceStats.liveThreads.add(metric(service, "jvm.threads.live", null));
+            serviceStats.peakThreads.add(metric(service, "jvm.threads.peak", null));
+            serviceStats.rssBytes.add(rssBytes(service.process().pid()));
+        }
+    }
+
+    // The VALUE measurement of an actuator metric, or NaN when it could not be read
+    private double metric(ServiceProcesses.Service service, String name, String tag) {
+        String uri = "http://localhost:" + service.managementPort() + "/actuator/metrics/" + name
+                + (tag != null ? "?tag=" + tag : "");
+        try {
+            HttpResponse<String> response = client.send(
+                    HttpRequest.newBuilder(URI.create(uri)).timeout(INTERVAL).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                return Double.NaN;
+            }
+            for (JsonNode measurement : objectMapper.readTree(response.body()).path("measurements")) {
+                if ("VALUE".equals(measurement.path("statistic").asText())) {
+                    return measurement.path("value").asDouble();
+                }
+            }
+        } catch (IOException e) {
+            log.debug("Could not read {} from {}: {}", name, service.name(), e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return Double.NaN;
+    }
+
+    static double rssBytes(long pid) {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        try {
+            for (String line : Files.readAllLines(status)) {
+                // "VmRSS:    123456 kB"
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.substring("VmRSS:".length()).replace("kB", "").trim()) * 1024d;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // No procfs, or the process is gone
+        }
+        return Double.NaN;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        scheduler.shutdown();
+        scheduler.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    public static final class ServiceStats {
+
+        private int samples;
+        private final Series heapUsedBytes = new Series();
+        private final Series heapCommittedBytes = new Series();
+        private final Series rssBytes = new Series();
+        private final Series liveThreads = new Series();
+        private final Series peakThreads = new Series();
+
+        public int samples() {
+            return samples;
+        }
+
+        public Series heapUsedBytes() {
+            return heapUsedBytes;
+        }
+
+        public Series heapCommittedBytes() {
+            return heapCommittedBytes;
+        }
+
+        public Series rssBytes() {
+            return rssBytes;
+        }
+
+        public Series liveThreads() {
+            return liveThreads;
+        }
+
+        public Series peakThreads() {
+            return peakThreads;
+        }
+    }
+
+    /**
+     * Mean and maximum of the readable samples; unreadable samples (NaN) are skipped.
+     */
+    public static final class Series {
+
+        private long count;
+        private double sum;
+        private double max = Double.NaN;
+
+        void add(double value) {
+            if (Double.isNaN(value)) {
+                return;
+            }
+            count++;
+            sum += value;
+            max = Double.isNaN(max) ? value : Math.max(max, value);
+        }
+
+        public boolean isEmpty() {
+            return count == 0;
+        }
+
+        public double mean() {
+            return count == 0 ? Double.NaN : sum / count;
+        }
+
+        public double max() {
+            return max;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package ax.gritlab.buy_01.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Operations in the workload mix; each gets its own latency histogram.
+ */
+public enum Route {
+
+    BROWSE("browse", "GET /api/products"),
+    PRODUCT("product", "GET /api/products/{id}"),
+    BFF("bff", "GET /api/bff/products/{id}"),
+    SEARCH("search", "GET /api/products/search"),
+    IMAGE("image", "GET /api/media/images/{id}"),
+    UPLOAD("upload", "POST /api/media/images"),
+    DELETE_MEDIA("delete-media", "DELETE /api/media/images/{id}"),
+    CREATE_PRODUCT("create-product", "POST /api/products"),
+    DELETE_PRODUCT("delete-product", "DELETE /api/products/{id}");
+
+    private final String optionName;
+    private final String label;
+
+    Route(String optionName, String label) {
+        this.optionName = optionName;
+        this.label = label;
+    }
+
+    public String optionName() {
+        return optionName;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    static Route fromName(String name) {
+        return Arrays.stream(values())
+                .filter(route -> route.optionName.equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown route in --mix: " + name));
+    }
+}
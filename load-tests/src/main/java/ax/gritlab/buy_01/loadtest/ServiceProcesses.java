@@ -0,0 +1,191 @@
+package ax.gritlab.buy_01.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts user-, product-, media-service and api-gateway from their packaged jars, one JVM each,
+ * pointed at the stand-ins. Eureka is replaced by static instance lists, so no registry is needed.
+ */
+public class ServiceProcesses implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ServiceProcesses.class);
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+    private final LoadTestOptions options;
+    private final StandIns standIns;
+    private final List<Process> processes = new ArrayList<>();
+    private final List<Service> services = new ArrayList<>();
+
+    private final int userPort = freePort();
+    private final int productPort = freePort();
+    private final int mediaPort = freePort();
+    private final int gatewayPort = freePort();
+
+    public ServiceProcesses(LoadTestOptions options, StandIns standIns) {
+        this.options = options;
+        this.standIns = standIns;
+    }
+
+    public String gatewayUrl() {
+        return "http://localhost:" + gatewayPort;
+    }
+
+    /**
+     * The launched services, with the management port their actuator metrics are served on.
+     */
+    public List<Service> services() {
+        return services;
+    }
+
+    public void start(Path mediaStorage) throws IOException, InterruptedException {
+        Path logDir = Files.createDirectories(options.outputDir().resolve("logs"));
+
+        launch("user-service", userPort, logDir, List.of(
+                "--spring.data.mongodb.uri=" + standIns.mongoUri("userdb")));
+        launch("product-service", productPort, logDir, List.of(
+                "--spring.data.mongodb.uri=" + standIns.mongoUri("productdb"),
+                "--media.public.url=" + gatewayUrl() + "/api/media"));
+        launch("media-service", mediaPort, logDir, List.of(
+                "--spring.data.mongodb.uri=" + standIns.mongoUri("mediadb"),
+                "--storage.location=" + mediaStorage,
+                "--api.gateway.url=" + gatewayUrl() + "/api/media"));
+        launch("api-gateway", gatewayPort, logDir, List.of(
+                "--gateway.cache.enabled=" + options.gatewayCache(),
+                "--gateway.coalescing.enabled=" + options.gatewayCache(),
+                "--gateway.rate-limit.enabled=" + options.gatewayRateLimit()));
+
+        for (Map.Entry<String, Integer> service : Map.of(
+                "user-service", userPort,
+                "product-service", productPort,
+                "media-service", mediaPort,
+                "api-gateway", gatewayPort).entrySet()) {
+            awaitListening(service.getKey(), service.getValue());
+        }
+    }
+
+    private void launch(String service, int port, Path logDir, List<String> serviceArgs) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(Arrays.asList(options.serviceJvmOptions().trim().split("\\s+")));
+        if (options.virtualThreads()) {
+            // Pinned virtual threads show up in the service logs of the run
+            command.add("-Djdk.tracePinnedThreads=short");
+        }
+        command.add("-jar");
+        command.add(jarOf(service).toString());
+        int managementPort = freePort();
+        command.add("--server.port=" + port);
+        command.add("--management.server.port=" + managementPort);
+        command.add("--spring.kafka.bootstrap-servers=" + standIns.kafkaBootstrapServers());
+        command.add("--eureka.client.enabled=false");
+        // The in-memory server does not implement the "hello" command used by the Mongo health check
+        command.add("--management.health.mongo.enabled=false");
+        command.addAll(discoveryArgs());
+        command.addAll(serviceArgs);
+
+        ProcessBuilder builder = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logDir.resolve(service + ".log").toFile());
+        builder.environment().put("VIRTUAL_THREADS_ENABLED", Boolean.toString(options.virtualThreads()));
+        if (options.traceSampling() > 0) {
+            builder.environment().put("TRACING_SAMPLING_PROBABILITY", Double.toString(options.traceSampling()));
+            builder.environment().put("TRACING_FILE_EXPORT_ENABLED", "true");
+            builder.environment().put("TRACING_FILE_EXPORT_PATH",
+                    options.outputDir().resolve("traces").resolve(service + ".jsonl").toString());
+        }
+        log.info("Starting {} on port {}", service, port);
+        Process process = builder.start();
+        processes.add(process);
+        services.add(new Service(service, process, managementPort));
+    }
+
+    // Static instances for the gateway routes (lb://USER-SERVICE) and product-service's media client
+    private List<String> discoveryArgs() {
+        List<String> args = new ArrayList<>();
+        Map<String, Integer> ports = Map.of(
+                "user-service", userPort, "product-service", productPort, "media-service", mediaPort);
+        ports.forEach((serviceId, port) -> {
+            for (String id : List.of(serviceId, serviceId.toUpperCase())) {
+                args.add("--spring.cloud.discovery.client.simple.instances[" + id + "][0].uri=http://localhost:" + port);
+            }
+        });
+        return args;
+    }
+
+    private Path jarOf(String service) {
+        Path target = options.repoDir().resolve(service).resolve("target");
+        Path exec = target.resolve(service + "-0.0.1-SNAPSHOT-exec.jar");
+        Path jar = Files.exists(exec) ? exec : target.resolve(service + "-0.0.1-SNAPSHOT.jar");
+        if (!Files.exists(jar)) {
+            throw new IllegalStateException("Missing " + jar + "; run mvn package -DskipTests first");
+        }
+        return jar;
+    }
+
+    private void awaitListening(String service, int port) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (processes.stream().anyMatch(process -> !process.isAlive())) {
+                throw new IllegalStateException("A service exited during startup; see " + options.outputDir().resolve("logs"));
+            }
+            try {
+                // Any HTTP answer means the server is up; health may require auth on some services
+                client.send(request, HttpResponse.BodyHandlers.discarding());
+                log.info("{} is up", service);
+                return;
+            } catch (IOException e) {
+                // Not listening yet
+                Thread.sleep(500);
+            }
+        }
+        throw new IllegalStateException(service + " did not start within " + STARTUP_TIMEOUT);
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public record Service(String name, Process process, int managementPort) {
+    }
+
+    @Override
+    public void close() {
+        processes.forEach(Process::destroy);
+        for (Process process : processes) {
+            try {
+                if (!process.waitFor(20, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                process.destroyForcibly();
+            }
+        }
+    }
+}
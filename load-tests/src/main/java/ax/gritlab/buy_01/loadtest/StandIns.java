@@ -0,0 +1,75 @@
+package ax.gritlab.buy_01.loadtest;
+
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.MongoVersion;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+/**
+ * In-process replacements for MongoDB and Kafka. Both listen on real ports so the services
+ * connect to them exactly as they would to the Docker containers.
+ */
+public class StandIns implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(StandIns.class);
+
+    // The services' driver (5.x) refuses servers older than wire version 8; report MongoDB 6.0
+    private static final MongoVersion MONGO_6_0 = new MongoVersion() {
+        @Override
+        public List<Integer> getVersionArray() {
+            return List.of(6, 0, 0);
+        }
+
+        @Override
+        public int getWireVersion() {
+            return 17;
+        }
+    };
+
+    private final MongoServer mongoServer;
+    private final EmbeddedKafkaKraftBroker kafka;
+    private final String mongoAddress;
+
+    private StandIns(MongoServer mongoServer, String mongoAddress, EmbeddedKafkaKraftBroker kafka) {
+        this.mongoServer = mongoServer;
+        this.mongoAddress = mongoAddress;
+        this.kafka = kafka;
+    }
+
+    public static StandIns start() {
+        MongoServer mongoServer = new MongoServer(new MemoryBackend().version(MONGO_6_0));
+        // Random free port on localhost
+        InetSocketAddress address = mongoServer.bind();
+        String mongoAddress = "localhost:" + address.getPort();
+        log.info("In-memory MongoDB listening on {}", mongoAddress);
+
+        // Topics are created by the services' own NewTopic beans
+        EmbeddedKafkaKraftBroker kafka = new EmbeddedKafkaKraftBroker(1, 1);
+        kafka.afterPropertiesSet();
+        log.info("Embedded Kafka listening on {}", kafka.getBrokersAsString());
+        return new StandIns(mongoServer, mongoAddress, kafka);
+    }
+
+    public String mongoConnectionString() {
+        return "mongodb://" + mongoAddress;
+    }
+
+    public String mongoUri(String database) {
+        return mongoConnectionString() + "/" + database;
+    }
+
+    public String kafkaBootstrapServers() {
+        return kafka.getBrokersAsString();
+    }
+
+    @Override
+    public void close() {
+        kafka.destroy();
+        mongoServer.shutdownNow();
+    }
+}
@@ -0,0 +1,271 @@
+package ax.gritlab.buy_01.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives the weighted route mix through api-gateway from {@code concurrency} virtual threads.
+ * <p>
+ * Without a target rate every worker sends its next request as soon as the previous one completes
+ * (closed model, measures maximum throughput). With {@code --rate} requests are scheduled at fixed
+ * intervals and latency is measured from the scheduled start, so queueing behind a slow response
+ * is counted instead of hidden (no coordinated omission).
+ * <p>
+ * Writes only touch data the workload created itself; the seeded catalog stays intact.
+ */
+public class Workload {
+
+    private static final Logger log = LoggerFactory.getLogger(Workload.class);
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final String BOUNDARY = "load-test-boundary";
+
+    private final LoadTestOptions options;
+    private final CatalogSeeder.SeededCatalog catalog;
+    private final String gatewayUrl;
+    private final LatencyRecorder recorder;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient;
+    private final Route[] weightedRoutes;
+    private final byte[] uploadBody;
+
+    private final List<String> sellerTokens = new ArrayList<>();
+    private final Queue<Owned> uploadedMedia = new ConcurrentLinkedQueue<>();
+    private final Queue<Owned> createdProducts = new ConcurrentLinkedQueue<>();
+
+    public Workload(LoadTestOptions options, CatalogSeeder.SeededCatalog catalog, String gatewayUrl,
+            LatencyRecorder recorder) {
+        this.options = options;
+        this.catalog = catalog;
+        this.gatewayUrl = gatewayUrl;
+        this.recorder = recorder;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        this.weightedRoutes = expand(options.mix());
+        this.uploadBody = multipartImage(options.imageBytes());
+    }
+
+    /**
+     * Logs in the seeded sellers; their tokens are used for uploads, deletes and product writes.
+     */
+    public void login() throws IOException, InterruptedException {
+        for (String email : catalog.sellerEmails()) {
+            String body = objectMapper.writeValueAsString(Map.of("email", email, "password", CatalogSeeder.PASSWORD));
+            HttpResponse<String> response = httpClient.send(
+                    HttpRequest.newBuilder(URI.create(gatewayUrl + "/api/auth/login"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body))
+                            .timeout(REQUEST_TIMEOUT)
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Login failed for " + email + ": HTTP " + response.statusCode());
+            }
+            sellerTokens.add(objectMapper.readTree(response.body()).get("token").asText());
+        }
+        log.info("Logged in {} sellers", sellerTokens.size());
+    }
+
+    /**
+     * Runs the warm-up, then the measured period. Returns once every worker has finished.
+     */
+    public void run() throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup().toNanos();
+        long end = measureFrom + options.duration().toNanos();
+        long intervalNanos = options.rate() > 0
+                ? (long) (TimeUnit.SECONDS.toNanos(1) * options.concurrency() / options.rate())
+                : 0;
+
+        List<Future<?>> workers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < options.concurrency(); i++) {
+                Random random = new Random(options.seed() + i);
+                // Spread paced workers over one interval so they do not fire in lockstep
+                long firstStart = start + (intervalNanos > 0 ? intervalNanos * i / options.concurrency() : 0);
+                workers.add(executor.submit(() -> {
+                    work(random, firstStart, intervalNanos, end);
+                    return null;
+                }));
+            }
+            log.info("Warming up for {}s", options.warmup().toSeconds());
+            sleepUntil(measureFrom);
+            recorder.startMeasuring();
+            log.info("Measuring for {}s", options.duration().toSeconds());
+            sleepUntil(end);
+            recorder.stopMeasuring();
+        }
+        for (Future<?> worker : workers) {
+            if (worker.state() == Future.State.FAILED) {
+                log.warn("Worker failed", worker.exceptionNow());
+            }
+        }
+    }
+
+    private void work(Random random, long firstStart, long intervalNanos, long end) throws InterruptedException {
+        long scheduled = firstStart;
+        while (System.nanoTime() < end) {
+            if (intervalNanos > 0) {
+                sleepUntil(scheduled);
+            } else {
+                scheduled = System.nanoTime();
+            }
+            execute(weightedRoutes[random.nextInt(weightedRoutes.length)], random, scheduled);
+            scheduled += intervalNanos;
+        }
+    }
+
+    private void execute(Route route, Random random, long scheduled) throws InterruptedException {
+        switch (route) {
+            case BROWSE -> send(route, get("/api/products"), scheduled);
+            case PRODUCT -> send(route, get("/api/products/" + pick(catalog.productIds(), random)), scheduled);
+            case BFF -> send(route, get("/api/bff/products/" + pick(catalog.productIds(), random)), scheduled);
+            case SEARCH -> send(route, get("/api/products/search?q="
+                    + URLEncoder.encode("synthetic product " + random.nextInt(catalog.productIds().size()),
+                            StandardCharsets.UTF_8)), scheduled);
+            case IMAGE -> send(route, get("/api/media/images/" + pick(catalog.mediaIds(), random)), scheduled);
+            case UPLOAD -> upload(random, scheduled);
+            case DELETE_MEDIA -> {
+                Owned media = uploadedMedia.poll();
+                if (media == null) {
+                    upload(random, scheduled);
+                } else {
+                    send(route, authorized(media.token(), "/api/media/images/" + media.id()).DELETE().build(), scheduled);
+                }
+            }
+            case CREATE_PRODUCT -> createProduct(random, scheduled);
+            case DELETE_PRODUCT -> {
+                Owned product = createdProducts.poll();
+                if (product == null) {
+                    createProduct(random, scheduled);
+                } else {
+                    send(route, authorized(product.token(), "/api/products/" + product.id()).DELETE().build(), scheduled);
+                }
+            }
+        }
+    }
+
+    private void upload(Random random, long scheduled) throws InterruptedException {
+        String token = pick(sellerTokens, random);
+        HttpRequest request = authorized(token, "/api/media/images")
+                .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(uploadBody))
+                .build();
+        String id = send(Route.UPLOAD, request, scheduled);
+        if (id != null) {
+            uploadedMedia.add(new Owned(token, id));
+        }
+    }
+
+    private void createProduct(Random random, long scheduled) throws InterruptedException {
+        String token = pick(sellerTokens, random);
+        String body = "{\"name\":\"Load test product\",\"description\":\"Created by the load test\","
+                + "\"price\":" + (1 + random.nextInt(500)) + ".0,\"quantity\":" + random.nextInt(100) + "}";
+        HttpRequest request = authorized(token, "/api/products")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        String id = send(Route.CREATE_PRODUCT, request, scheduled);
+        if (id != null) {
+            createdProducts.add(new Owned(token, id));
+        }
+    }
+
+    /**
+     * Sends the request and records its latency from the scheduled start.
+     *
+     * @return the "id" field of a successful JSON response, if any
+     */
+    private String send(Route route, HttpRequest request, long scheduled) throws InterruptedException {
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            recorder.record(route, System.nanoTime() - scheduled, response.statusCode());
+            if (route == Route.UPLOAD || route == Route.CREATE_PRODUCT) {
+                return response.statusCode() / 100 == 2 ? idOf(response.body()) : null;
+            }
+        } catch (IOException e) {
+            recorder.record(route, System.nanoTime() - scheduled, 0);
+        }
+        return null;
+    }
+
+    private String idOf(byte[] body) {
+        try {
+            JsonNode id = objectMapper.readTree(body).get("id");
+            return id != null ? id.asText() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(gatewayUrl + path)).timeout(REQUEST_TIMEOUT).GET().build();
+    }
+
+    private HttpRequest.Builder authorized(String token, String path) {
+        return HttpRequest.newBuilder(URI.create(gatewayUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + token);
+    }
+
+    private static <T> T pick(List<T> values, Random random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static Route[] expand(Map<Route, Integer> mix) {
+        List<Route> routes = new ArrayList<>();
+        mix.forEach((route, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                routes.add(route);
+            }
+        });
+        return routes.toArray(Route[]::new);
+    }
+
+    private static byte[] multipartImage(int size) {
+        byte[] image = new byte[size];
+        new Random(size).nextBytes(image);
+        ByteArrayOutputStream body = new ByteArrayOutputStream(size + 256);
+        body.writeBytes(("--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"load-test.jpg\"\r\n"
+                + "Content-Type: image/jpeg\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(image);
+        body.writeBytes(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return body.toByteArray();
+    }
+
+    private static void sleepUntil(long deadlineNanos) throws InterruptedException {
+        long remaining = deadlineNanos - System.nanoTime();
+        if (remaining > 0) {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        }
+    }
+
+    private record Owned(String token, String id) {
+    }
+}
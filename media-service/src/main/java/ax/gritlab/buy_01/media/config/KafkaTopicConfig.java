@@ -14,4 +14,29 @@ public class KafkaTopicConfig {
             .replicas(1)
             .build();
    }
+
+   @Bean
+   public NewTopic mediaAssociatedTopic() {
+      return TopicBuilder.name("media.associated")
+            .partitions(1)
+            .replicas(1)
+            .build();
+   }
+
+   @Bean
+   public NewTopic mediaDeletedTopic() {
+      return TopicBuilder.name("media.deleted")
+            .partitions(1)
+            .replicas(1)
+            .build();
+   }
+
+   // One partition: the snapshot marker must follow the snapshot (see MediaStatsPublisher)
+   @Bean
+   public NewTopic mediaStatsTopic() {
+      return TopicBuilder.name("media.stats")
+            .partitions(1)
+            .replicas(1)
+            .build();
+   }
 }
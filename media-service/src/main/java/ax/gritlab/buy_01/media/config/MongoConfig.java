@@ -1,9 +1,45 @@
 package ax.gritlab.buy_01.media.config;
 
+import ax.gritlab.buy_01.common.mongo.MongoIndexManager;
+import ax.gritlab.buy_01.media.model.Media;
+import org.bson.types.ObjectId;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.config.EnableMongoAuditing;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
 
 @Configuration
 @EnableMongoAuditing
 public class MongoConfig {
+
+    private static final String ANY_ID = "000000000000000000000000";
+    private static final LocalDateTime ANY_TIME = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Bean
+    public MongoIndexManager mongoIndexManager(MongoTemplate mongoTemplate, MongoMappingContext mongoMappingContext) {
+        return new MongoIndexManager(mongoTemplate, mongoMappingContext, List.of(Media.class), List.of(
+                new MongoIndexManager.QueryShape("media by seller", Media.class,
+                        Query.query(where("userId").is(ANY_ID))),
+                new MongoIndexManager.QueryShape("media library page", Media.class,
+                        Query.query(where("userId").is(ANY_ID))
+                                .with(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("_id")))),
+                new MongoIndexManager.QueryShape("media library page after cursor", Media.class,
+                        Query.query(where("userId").is(ANY_ID).orOperator(
+                                        where("createdAt").lt(ANY_TIME),
+                                        where("createdAt").is(ANY_TIME).and("_id").lt(new ObjectId(ANY_ID))))
+                                .with(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("_id")))),
+                new MongoIndexManager.QueryShape("unassigned media library page", Media.class,
+                        Query.query(where("userId").is(ANY_ID).and("productId").is(null))
+                                .with(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("_id")))),
+                new MongoIndexManager.QueryShape("media by product", Media.class,
+                        Query.query(where("productId").is(ANY_ID)))));
+    }
 }
@@ -1,6 +1,7 @@
 package ax.gritlab.buy_01.media.config;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -26,7 +27,7 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         // Public endpoints - anyone can VIEW images
                         .requestMatchers(HttpMethod.GET, "/media/images/**").permitAll()
-                        .requestMatchers("/actuator/**").permitAll()
+                        .requestMatchers(EndpointRequest.toAnyEndpoint()).permitAll() // Internal management port only
 
                         // Protected endpoints - authenticated users can upload/modify images
                         .requestMatchers(HttpMethod.POST, "/media/images/**").authenticated()
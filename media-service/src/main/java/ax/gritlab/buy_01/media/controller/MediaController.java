@@ -1,10 +1,12 @@
 package ax.gritlab.buy_01.media.controller;
 
+import ax.gritlab.buy_01.media.dto.MediaPageResponse;
 import ax.gritlab.buy_01.media.model.Media;
 import ax.gritlab.buy_01.media.model.User;
 import ax.gritlab.buy_01.media.service.MediaService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -12,6 +14,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.Duration;
 import java.util.List;
 
 @RestController
@@ -21,6 +24,13 @@ public class MediaController {
 
     private final MediaService mediaService;
 
+    // A media id always names the same bytes, so the id is the ETag. The gateway serves images
+    // from its cache and drops them on media.deleted; browsers keep them for an hour
+    private static final CacheControl IMAGE_CACHE = CacheControl.maxAge(Duration.ofHours(1))
+            .sMaxAge(Duration.ofHours(1))
+            .staleWhileRevalidate(Duration.ofSeconds(60))
+            .cachePublic();
+
     @GetMapping("/images")
     @PreAuthorize("hasAuthority('SELLER')")
     public ResponseEntity<List<Media>> getAllUserMedia(Authentication authentication) {
@@ -28,6 +38,22 @@ public class MediaController {
         return ResponseEntity.ok(mediaList);
     }
 
+    /**
+     * The seller's media library one page at a time, newest first, with only the fields the grid
+     * shows, e.g. {@code /media/images?limit=50&unassigned=true}; follow {@code nextCursor} for
+     * the next page. Without {@code limit} the full list above is returned.
+     */
+    @GetMapping(value = "/images", params = "limit")
+    @PreAuthorize("hasAuthority('SELLER')")
+    public ResponseEntity<MediaPageResponse> getUserMediaPage(@RequestParam int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String productId,
+            @RequestParam(defaultValue = "false") boolean unassigned,
+            Authentication authentication) {
+        String userId = ((User) authentication.getPrincipal()).getId();
+        return ResponseEntity.ok(mediaService.findPageByUserId(userId, limit, cursor, productId, unassigned));
+    }
+
     @PostMapping("/images")
     @PreAuthorize("hasAnyAuthority('SELLER', 'CLIENT')")
     public ResponseEntity<Media> uploadImage(@RequestParam("file") MultipartFile file, Authentication authentication) {
@@ -35,11 +61,24 @@ public class MediaController {
         return ResponseEntity.ok(savedMedia);
     }
 
+    /**
+     * Uploads several images in one request (multipart field {@code files}, at most
+     * {@link MediaService#MAX_BATCH_UPLOAD}); their records are written with a single insert.
+     */
+    @PostMapping("/images/batch")
+    @PreAuthorize("hasAnyAuthority('SELLER', 'CLIENT')")
+    public ResponseEntity<List<Media>> uploadImages(@RequestParam("files") List<MultipartFile> files,
+            Authentication authentication) {
+        return ResponseEntity.ok(mediaService.saveAll(files, (User) authentication.getPrincipal()));
+    }
+
     @GetMapping("/images/{id}")
     public ResponseEntity<Resource> serveImage(@PathVariable String id) {
         try {
             MediaService.MediaResource mediaResource = mediaService.getResourceById(id);
             return ResponseEntity.ok()
+                    .cacheControl(IMAGE_CACHE)
+                    .eTag(id)
                     .header(HttpHeaders.CONTENT_TYPE, mediaResource.getContentType())
                     .body(mediaResource.getResource());
         } catch (RuntimeException e) {
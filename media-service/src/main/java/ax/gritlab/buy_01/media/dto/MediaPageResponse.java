@@ -0,0 +1,35 @@
+package ax.gritlab.buy_01.media.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MediaPageResponse {
+    private List<Item> results;
+    // Pass back as ?cursor= for the next page; null on the last page
+    private String nextCursor;
+
+    /**
+     * The fields the media library grid shows.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private String id;
+        private String url;
+        private String originalFilename;
+        private long size;
+        private String productId;
+        private LocalDateTime createdAt;
+    }
+}
@@ -0,0 +1,7 @@
+package ax.gritlab.buy_01.media.exception;
+
+public class InvalidRequestException extends RuntimeException {
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
@@ -7,6 +7,8 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -16,6 +18,8 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "media")
+// A seller's media library pages, newest first; also serves the plain lookups by userId
+@CompoundIndex(name = "userId_createdAt_id", def = "{'userId': 1, 'createdAt': -1, '_id': -1}", background = true)
 public class Media {
 
     @Id
@@ -31,6 +35,7 @@ public class Media {
 
     private String userId; // The user (seller) who owns this media
 
+    @Indexed(background = true)
     private String productId; // Optional: The product this media is associated with
 
     private String url; // The public URL to access this media
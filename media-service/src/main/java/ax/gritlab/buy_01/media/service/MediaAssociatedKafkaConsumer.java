@@ -0,0 +1,53 @@
+package ax.gritlab.buy_01.media.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies media.associated events ({@code {mediaId, productId, userId}}) published by
+ * product-service when a seller attaches an image to a product.
+ * <p>
+ * Events are consumed in batches; only the last event per media id in a batch is applied,
+ * and applying the same event twice changes nothing, so redeliveries are harmless.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MediaAssociatedKafkaConsumer {
+
+    private final MediaService mediaService;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(topics = "media.associated", groupId = "media-service-group", batch = "true")
+    public void consumeMediaAssociated(List<String> messages) {
+        Map<String, MediaService.MediaAssociation> latestByMedia = new LinkedHashMap<>();
+        for (String message : messages) {
+            try {
+                JsonNode node = objectMapper.readTree(message);
+                String mediaId = node.path("mediaId").asText(null);
+                String productId = node.path("productId").asText(null);
+                String userId = node.path("userId").asText(null);
+                if (mediaId == null || productId == null || userId == null) {
+                    log.warn("Skipping incomplete media.associated event: {}", message);
+                    continue;
+                }
+                latestByMedia.put(mediaId, new MediaService.MediaAssociation(mediaId, productId, userId));
+            } catch (Exception e) {
+                log.warn("Skipping unreadable media.associated event: {}", e.getMessage());
+            }
+        }
+
+        if (!latestByMedia.isEmpty()) {
+            int updated = mediaService.applyProductAssociations(latestByMedia.values());
+            log.debug("Applied {} of {} media.associated events", updated, messages.size());
+        }
+    }
+}
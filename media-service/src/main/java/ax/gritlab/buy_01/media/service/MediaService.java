@@ -1,34 +1,55 @@
 package ax.gritlab.buy_01.media.service;
 
 import ax.gritlab.buy_01.media.config.StorageProperties;
+import ax.gritlab.buy_01.media.dto.MediaPageResponse;
 import ax.gritlab.buy_01.media.exception.InvalidFileTypeException;
+import ax.gritlab.buy_01.media.exception.InvalidRequestException;
 import ax.gritlab.buy_01.media.exception.ResourceNotFoundException;
 import ax.gritlab.buy_01.media.exception.UnauthorizedException;
 import ax.gritlab.buy_01.media.model.Media;
 import ax.gritlab.buy_01.media.model.User;
 import ax.gritlab.buy_01.media.repository.MediaRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.annotation.PostConstruct;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.MalformedURLException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class MediaService {
@@ -37,6 +58,59 @@ public class MediaService {
         return mediaRepository.findByUserId(userId);
     }
 
+    /**
+     * One page of a seller's media library, newest first, optionally only the media of one
+     * product or only media not attached to any product. Pages are keyed by a cursor holding the
+     * last item's (createdAt, id), so each page is a range scan on the (userId, createdAt, _id)
+     * index however deep the seller pages. A limit above {@link #MAX_PAGE_SIZE} is clamped to it;
+     * a cursor this service did not issue is rejected.
+     */
+    public MediaPageResponse findPageByUserId(String userId, int limit, String cursor, String productId,
+            boolean unassigned) {
+        if (limit < 1) {
+            throw new InvalidRequestException("limit must be at least 1");
+        }
+        limit = Math.min(limit, MAX_PAGE_SIZE);
+        if (productId != null && unassigned) {
+            throw new InvalidRequestException("productId and unassigned cannot be combined");
+        }
+        Criteria criteria = Criteria.where("userId").is(userId);
+        if (productId != null) {
+            criteria.and("productId").is(productId);
+        } else if (unassigned) {
+            criteria.and("productId").is(null);
+        }
+        if (cursor != null) {
+            PageCursor after = PageCursor.decode(cursor);
+            criteria.orOperator(
+                    Criteria.where("createdAt").lt(after.createdAt()),
+                    Criteria.where("createdAt").is(after.createdAt()).and("_id").lt(new ObjectId(after.id())));
+        }
+        Query query = Query.query(criteria)
+                .with(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("_id")))
+                // One extra row tells whether there is a next page
+                .limit(limit + 1);
+        query.fields().include("url", "originalFilename", "size", "productId", "createdAt");
+        List<Media> medias = mongoTemplate.find(query, Media.class);
+
+        boolean hasNext = medias.size() > limit;
+        List<Media> page = hasNext ? medias.subList(0, limit) : medias;
+        Media last = page.isEmpty() ? null : page.get(page.size() - 1);
+        return MediaPageResponse.builder()
+                .results(page.stream()
+                        .map(media -> MediaPageResponse.Item.builder()
+                                .id(media.getId())
+                                .url(media.getUrl())
+                                .originalFilename(media.getOriginalFilename())
+                                .size(media.getSize())
+                                .productId(media.getProductId())
+                                .createdAt(media.getCreatedAt())
+                                .build())
+                        .toList())
+                .nextCursor(hasNext ? new PageCursor(last.getCreatedAt(), last.getId()).encode() : null)
+                .build();
+    }
+
     // Associate media with a product
     public Media associateWithProduct(String mediaId, String productId, String userId) {
         Media media = mediaRepository.findById(mediaId)
@@ -50,6 +124,30 @@ public class MediaService {
         return updatedMedia;
     }
 
+    /**
+     * Applies product associations published by product-service in one unordered bulk write.
+     * Only media owned by the given user and not already pointing at that product are updated,
+     * so re-applying an event is a no-op.
+     *
+     * @return number of media records changed
+     */
+    public int applyProductAssociations(Collection<MediaAssociation> associations) {
+        if (associations.isEmpty()) {
+            return 0;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Media.class);
+        LocalDateTime now = LocalDateTime.now();
+        for (MediaAssociation association : associations) {
+            Query query = Query.query(Criteria.where("_id").is(association.mediaId())
+                    .and("userId").is(association.userId())
+                    .and("productId").ne(association.productId()));
+            bulk.updateOne(query, new Update()
+                    .set("productId", association.productId())
+                    .set("updatedAt", now));
+        }
+        return bulk.execute().getModifiedCount();
+    }
+
     // Delete all media associated with a product
     public void deleteMediaByProductId(String productId) {
         List<Media> medias = mediaRepository.findByProductId(productId);
@@ -60,6 +158,8 @@ public class MediaService {
         // Remove records from DB
         if (!medias.isEmpty()) {
             mediaRepository.deleteAll(medias);
+            medias.forEach(this::publishMediaDeleted);
+            mediaStatsPublisher.markChanged(medias.stream().map(Media::getUserId).toList());
         }
     }
 
@@ -76,6 +176,8 @@ public class MediaService {
 
         if (!medias.isEmpty()) {
             mediaRepository.deleteAll(medias);
+            medias.forEach(this::publishMediaDeleted);
+            mediaStatsPublisher.markChanged(medias.stream().map(Media::getUserId).toList());
         }
     }
 
@@ -91,22 +193,31 @@ public class MediaService {
 
         if (!medias.isEmpty()) {
             mediaRepository.deleteAll(medias);
+            medias.forEach(this::publishMediaDeleted);
+            mediaStatsPublisher.markChanged(medias.stream().map(Media::getUserId).toList());
         }
     }
 
     private static final long MAX_FILE_SIZE = 2 * 1024 * 1024; // 2MB
+    public static final int MAX_PAGE_SIZE = 200;
+    public static final int MAX_BATCH_UPLOAD = 20;
 
     private final MediaRepository mediaRepository;
     private final StorageProperties storageProperties;
-    private final RestTemplate restTemplate; // ADD THIS for inter-service communication
+    private final MongoTemplate mongoTemplate;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final MediaStatsPublisher mediaStatsPublisher;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final ObservationRegistry observationRegistry;
     private Path rootLocation;
 
+    private DistributionSummary bytesWritten;
+    private DistributionSummary bytesRead;
+
     @Value("${api.gateway.url:http://localhost:8080/api/media}")
     private String apiGatewayUrl;
 
-    @Value("${product.service.url:http://localhost:8082}")
-    private String productServiceUrl; // ADD THIS
-
     @Getter
     @RequiredArgsConstructor
     public static class MediaResource {
@@ -114,9 +225,37 @@ public class MediaService {
         private final String contentType;
     }
 
+    public record MediaAssociation(String mediaId, String productId, String userId) {
+    }
+
+    // Opaque to clients: base64url of "<createdAt>|<id>"
+    private record PageCursor(LocalDateTime createdAt, String id) {
+
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((createdAt + "|" + id).getBytes(StandardCharsets.UTF_8));
+        }
+
+        static PageCursor decode(String cursor) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                        .split("\\|", 2);
+                if (parts.length != 2 || !ObjectId.isValid(parts[1])) {
+                    throw new InvalidRequestException("Invalid cursor");
+                }
+                return new PageCursor(LocalDateTime.parse(parts[0]), parts[1]);
+            } catch (RuntimeException e) {
+                // Not base64, not "createdAt|id", or an unparsable date
+                throw new InvalidRequestException("Invalid cursor");
+            }
+        }
+    }
+
     @PostConstruct
     public void init() {
         this.rootLocation = Paths.get(storageProperties.getLocation());
+        this.bytesWritten = storageBytes("write");
+        this.bytesRead = storageBytes("read");
         try {
             Files.createDirectories(rootLocation);
         } catch (IOException e) {
@@ -129,14 +268,55 @@ public class MediaService {
         if (filePath != null && !filePath.startsWith("http://") && !filePath.startsWith("https://")) {
             try {
                 Path file = rootLocation.resolve(filePath);
-                Files.deleteIfExists(file);
+                Observation.createNotStarted("media.storage.delete", observationRegistry)
+                        .observeChecked(() -> Files.deleteIfExists(file));
             } catch (IOException e) {
-                System.err.println("Failed to delete file: " + filePath);
+                log.warn("Failed to delete file: {}", filePath, e);
             }
         }
     }
 
+    /**
+     * Stores one image. The id and url are assigned before the write, so the record costs a
+     * single insert.
+     */
     public Media save(MultipartFile file, User user) {
+        validateImage(file);
+        Media media = store(file, user);
+        try {
+            mediaRepository.insert(media);
+        } catch (RuntimeException e) {
+            deletePhysicalFile(media.getFilePath());
+            throw e;
+        }
+        mediaStatsPublisher.markChanged(List.of(user.getId()));
+        return media;
+    }
+
+    /**
+     * Stores up to {@link #MAX_BATCH_UPLOAD} images with one insertMany. Every file is validated
+     * before any is written; if the insert fails, the files written for the batch are removed.
+     */
+    public List<Media> saveAll(List<MultipartFile> files, User user) {
+        if (files.isEmpty() || files.size() > MAX_BATCH_UPLOAD) {
+            throw new InvalidFileTypeException("Upload between 1 and " + MAX_BATCH_UPLOAD + " files at once.");
+        }
+        files.forEach(this::validateImage);
+        List<Media> medias = new ArrayList<>(files.size());
+        try {
+            for (MultipartFile file : files) {
+                medias.add(store(file, user));
+            }
+            mongoTemplate.insertAll(medias);
+        } catch (RuntimeException e) {
+            medias.forEach(media -> deletePhysicalFile(media.getFilePath()));
+            throw e;
+        }
+        mediaStatsPublisher.markChanged(List.of(user.getId()));
+        return medias;
+    }
+
+    private void validateImage(MultipartFile file) {
         if (file.isEmpty()) {
             throw new InvalidFileTypeException("Failed to store empty file.");
         }
@@ -149,7 +329,10 @@ public class MediaService {
         if (contentType == null || !contentType.startsWith("image/")) {
             throw new InvalidFileTypeException("Invalid file type. Only images are allowed.");
         }
+    }
 
+    // Writes the file and returns its not yet persisted record, id and url included
+    private Media store(MultipartFile file, User user) {
         try {
             String originalFilename = Objects.requireNonNull(file.getOriginalFilename());
             String extension = originalFilename.substring(originalFilename.lastIndexOf("."));
@@ -160,28 +343,33 @@ public class MediaService {
                 throw new InvalidFileTypeException("Cannot store file outside current directory.");
             }
 
+            // Span and timer (media.storage.write) around the disk write
             try (InputStream inputStream = file.getInputStream()) {
-                Files.copy(inputStream, destinationFile, StandardCopyOption.REPLACE_EXISTING);
+                long written = Observation.createNotStarted("media.storage.write", observationRegistry)
+                        .observeChecked(() -> Files.copy(inputStream, destinationFile,
+                                StandardCopyOption.REPLACE_EXISTING));
+                bytesWritten.record(written);
+            } catch (IOException e) {
+                // The caller only cleans up files it got a record for, so drop a partial write here
+                Files.deleteIfExists(destinationFile);
+                throw e;
             }
 
             LocalDateTime now = LocalDateTime.now();
+            String id = new ObjectId().toHexString();
 
-            Media media = Media.builder()
+            return Media.builder()
+                    .id(id)
                     .originalFilename(originalFilename)
                     .contentType(file.getContentType())
                     .size(file.getSize())
                     .filePath(uniqueFilename)
                     .userId(user.getId())
+                    .url(apiGatewayUrl + "/images/" + id)
                     .createdAt(now)
                     .updatedAt(now)
                     .build();
 
-            Media savedMedia = mediaRepository.save(media);
-
-            // Set the URL after saving to get the ID
-            savedMedia.setUrl(apiGatewayUrl + "/images/" + savedMedia.getId());
-            return mediaRepository.save(savedMedia);
-
         } catch (IOException e) {
             throw new RuntimeException("Failed to store file.", e);
         }
@@ -192,9 +380,19 @@ public class MediaService {
                 .orElseThrow(() -> new ResourceNotFoundException("Media not found with id: " + id));
 
         Resource resource = loadAsResource(media.getFilePath());
+        // The body is streamed by the controller; its duration is part of http.server.requests
+        bytesRead.record(media.getSize());
         return new MediaResource(resource, media.getContentType());
     }
 
+    private DistributionSummary storageBytes(String operation) {
+        return DistributionSummary.builder("media.storage.bytes")
+                .description("Size of media files written to or served from storage")
+                .baseUnit("bytes")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
     public Resource loadAsResource(String filename) {
         try {
             // Check if it's an external URL (starts with http:// or https://)
@@ -224,31 +422,29 @@ public class MediaService {
             throw new UnauthorizedException("You do not have permission to delete this media");
         }
 
-        // If media is associated with a product, notify product service to remove it
-        if (media.getProductId() != null) {
-            try {
-                String url = productServiceUrl + "/products/" + media.getProductId() +
-                        "/remove-media/" + media.getId();
-
-                System.out.println("Calling Product Service to remove media: " + url); // DEBUG LOG
-
-                restTemplate.delete(url);
-
-                System.out.println("Successfully removed media from product"); // DEBUG LOG
-            } catch (Exception e) {
-                // Log the full error
-                System.err.println("Failed to update product after media deletion: " + e.getMessage());
-                e.printStackTrace(); // Print full stack trace
-
-                // DON'T throw exception - still proceed with media deletion
-            }
-        }
-
         // Delete physical file
         deletePhysicalFile(media.getFilePath());
 
         // Delete database record
         mediaRepository.delete(media);
+
+        // Product service removes the media id from its product when it consumes this event
+        publishMediaDeleted(media);
+        mediaStatsPublisher.markChanged(List.of(media.getUserId()));
+    }
+
+    // media.deleted, keyed by media id
+    private void publishMediaDeleted(Media media) {
+        kafkaTemplate.send("media.deleted", media.getId(), mediaEvent(media).toString());
+    }
+
+    private ObjectNode mediaEvent(Media media) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("id", media.getId());
+        node.put("productId", media.getProductId());
+        node.put("userId", media.getUserId());
+        node.put("size", media.getSize());
+        return node;
     }
 
 }
@@ -0,0 +1,108 @@
+package ax.gritlab.buy_01.media.service;
+
+import ax.gritlab.buy_01.media.model.Media;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Publishes each seller's media totals to media.stats, keyed by seller id, for product-service's
+ * seller summaries: {@code {userId, mediaCount, mediaBytes, at}}. Sent shortly after an upload or
+ * delete, and periodically for every seller followed by a {@code {snapshotAt}} marker.
+ * <p>
+ * Uploads and deletes only mark their seller as changed; a scheduled flush counts all marked
+ * sellers with one aggregation, so the count never runs on the request thread and a burst of
+ * uploads by one seller costs one count.
+ * <p>
+ * The totals are absolute, so a redelivered or repeated event changes nothing; {@code at} (epoch
+ * millis, taken before counting) tells which of two events is newer. The marker lets the consumer
+ * zero sellers left out of the snapshot, i.e. whose media are all gone. It relies on media.stats
+ * having a single partition, so the marker is consumed after the snapshot it closes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MediaStatsPublisher {
+
+    static final String TOPIC = "media.stats";
+
+    private final MongoTemplate mongoTemplate;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final Set<String> changed = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Queues the sellers' totals for the next flush.
+     */
+    public void markChanged(Collection<String> userIds) {
+        userIds.stream().filter(Objects::nonNull).forEach(changed::add);
+    }
+
+    @Scheduled(fixedDelayString = "${media.stats.flush-interval:PT1S}")
+    public void flush() {
+        Set<String> sellers = new HashSet<>();
+        // A seller marked while this flush counts stays queued for the next one
+        for (Iterator<String> it = changed.iterator(); it.hasNext(); ) {
+            sellers.add(it.next());
+            it.remove();
+        }
+        if (sellers.isEmpty()) {
+            return;
+        }
+        long at = System.currentTimeMillis();
+        Map<String, Document> totals = totals(Criteria.where("userId").in(sellers));
+        sellers.forEach(seller -> send(seller, totals.get(seller), at));
+    }
+
+    @Scheduled(initialDelayString = "${media.stats.initial-delay:PT30S}",
+            fixedDelayString = "${media.stats.republish-interval:PT15M}")
+    public void republishAll() {
+        long at = System.currentTimeMillis();
+        Map<String, Document> totals = totals(new Criteria());
+        totals.forEach((seller, total) -> send(seller, total, at));
+        ObjectNode marker = objectMapper.createObjectNode();
+        marker.put("snapshotAt", at);
+        kafkaTemplate.send(TOPIC, marker.toString());
+        log.info("Republished media totals for {} sellers", totals.size());
+    }
+
+    private Map<String, Document> totals(Criteria criteria) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(criteria),
+                Aggregation.group("userId").count().as("mediaCount").sum("size").as("mediaBytes"));
+        Map<String, Document> totals = new HashMap<>();
+        for (Document total : mongoTemplate.aggregate(aggregation, Media.class, Document.class)) {
+            if (total.get("_id") instanceof String seller) {
+                totals.put(seller, total);
+            }
+        }
+        return totals;
+    }
+
+    // No total means the seller has no media left
+    private void send(String userId, Document total, long at) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("userId", userId);
+        node.put("mediaCount", total == null ? 0 : ((Number) total.get("mediaCount")).longValue());
+        node.put("mediaBytes", total == null ? 0 : ((Number) total.get("mediaBytes")).longValue());
+        node.put("at", at);
+        kafkaTemplate.send(TOPIC, userId, node.toString());
+    }
+}
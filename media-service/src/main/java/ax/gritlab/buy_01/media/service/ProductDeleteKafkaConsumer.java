@@ -6,10 +6,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
 import java.util.List;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class ProductDeleteKafkaConsumer {
@@ -21,7 +23,7 @@ public class ProductDeleteKafkaConsumer {
 
     @KafkaListener(topics = "product.deleted", groupId = "media-service-group")
     public void consumeProductDeleted(String message) {
-        System.out.println("Received product deletion event: " + message);
+        log.debug("Received product deletion event: {}", message);
 
         try {
             // If the producer sends JSON with mediaIds, prefer deleting by explicit media ids
@@ -47,7 +49,7 @@ public class ProductDeleteKafkaConsumer {
                 }
             }
         } catch (Exception e) {
-            System.err.println("Failed to parse product.deleted message: " + e.getMessage());
+            log.warn("Failed to parse product.deleted message: {}", e.getMessage());
         }
 
         // Fallback: treat the payload as a raw productId string
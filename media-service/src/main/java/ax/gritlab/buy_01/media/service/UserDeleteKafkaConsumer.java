@@ -4,7 +4,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class UserDeleteKafkaConsumer {
@@ -13,7 +15,7 @@ public class UserDeleteKafkaConsumer {
 
     @KafkaListener(topics = "user.deleted", groupId = "media-service-group")
     public void consumeUserDeleted(String userId) {
-        System.out.println("Received user deletion event for ID: " + userId);
+        log.info("Received user deletion event for ID: {}", userId);
         mediaService.deleteMediaByUserId(userId);
     }
 }
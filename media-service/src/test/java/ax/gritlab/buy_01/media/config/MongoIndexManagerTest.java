@@ -0,0 +1,76 @@
+package ax.gritlab.buy_01.media.config;
+
+import ax.gritlab.buy_01.common.mongo.MongoIndexManager;
+import ax.gritlab.buy_01.media.model.Media;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.util.Streamable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+public class MongoIndexManagerTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    // The query MediaService runs for every page after the first
+    private static final Query PAGE_AFTER_CURSOR = Query.query(where("userId").is("seller").orOperator(
+                    where("createdAt").lt(T0),
+                    where("createdAt").is(T0).and("_id").lt(new ObjectId())))
+            .with(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("_id")));
+
+    private static MongoMappingContext mappingContext() {
+        // Java time types are simple values, as in the mapping context Spring Boot configures
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+        return mappingContext;
+    }
+
+    @Test
+    public void testRegisteredQueryShapesAreServedByDeclaredIndexes() {
+        MongoIndexManager manager = new MongoConfig().mongoIndexManager(null, mappingContext());
+
+        assertEquals(List.of(), manager.unservedQueryShapes());
+    }
+
+    @Test
+    public void testCursorPageIsServedByLibraryIndex() {
+        Document libraryIndex = Streamable.of(new MongoPersistentEntityIndexResolver(mappingContext())
+                        .resolveIndexFor(Media.class)).stream()
+                .filter(index -> "userId_createdAt_id".equals(index.getIndexOptions().get("name")))
+                .map(IndexDefinition::getIndexKeys)
+                .findFirst()
+                .orElseThrow();
+
+        assertEquals(new Document("userId", 1).append("createdAt", -1).append("_id", -1), libraryIndex);
+        assertTrue(MongoIndexManager.serves(libraryIndex, PAGE_AFTER_CURSOR));
+        // Without the _id tie-break in the index the page would be sorted in memory
+        assertFalse(MongoIndexManager.serves(new Document("userId", 1).append("createdAt", -1), PAGE_AFTER_CURSOR));
+    }
+
+    @Test
+    public void testNoUniqueIndexIsBuiltBeforeStartup() {
+        // Media declares no unique index, so nothing holds up startup; the rest waits for ApplicationReadyEvent
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        MongoIndexManager manager = new MongoConfig().mongoIndexManager(mongoTemplate, mappingContext());
+
+        manager.ensureUniqueIndexes();
+
+        verify(mongoTemplate, never()).indexOps(any(Class.class));
+    }
+}
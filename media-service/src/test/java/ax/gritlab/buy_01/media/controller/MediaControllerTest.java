@@ -0,0 +1,76 @@
+package ax.gritlab.buy_01.media.controller;
+
+import ax.gritlab.buy_01.media.exception.GlobalExceptionHandler;
+import ax.gritlab.buy_01.media.model.User;
+import ax.gritlab.buy_01.media.service.MediaService;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class MediaControllerTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final UsernamePasswordAuthenticationToken seller = new UsernamePasswordAuthenticationToken(
+            User.builder().id("seller").build(), null, List.of());
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        MediaService mediaService = new MediaService(null, null, mongoTemplate, null, null, null, null, null);
+        mockMvc = MockMvcBuilders.standaloneSetup(new MediaController(mediaService))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    public void testTamperedCursorIsBadRequest() throws Exception {
+        String cursor = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("2024-01-01T12:00|" + new ObjectId() + "x").getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(get("/media/images").param("limit", "10").param("cursor", cursor).principal(seller))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor"));
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    public void testMalformedCursorIsBadRequest() throws Exception {
+        mockMvc.perform(get("/media/images").param("limit", "10").param("cursor", "%%%").principal(seller))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Bad Request"));
+    }
+
+    @Test
+    public void testImagesArePubliclyCacheableWithTheirIdAsEtag() throws Exception {
+        MediaService mediaService = mock(MediaService.class);
+        when(mediaService.getResourceById("m1")).thenReturn(
+                new MediaService.MediaResource(new ByteArrayResource(new byte[] {1, 2, 3}), "image/png"));
+        MockMvc images = MockMvcBuilders.standaloneSetup(new MediaController(mediaService)).build();
+
+        images.perform(get("/media/images/m1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL,
+                        "max-age=3600, public, s-maxage=3600, stale-while-revalidate=60"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"m1\""))
+                .andExpect(content().bytes(new byte[] {1, 2, 3}));
+        images.perform(get("/media/images/m1").header(HttpHeaders.IF_NONE_MATCH, "\"m1\""))
+                .andExpect(status().isNotModified());
+    }
+}
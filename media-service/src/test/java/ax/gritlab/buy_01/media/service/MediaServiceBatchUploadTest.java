@@ -0,0 +1,157 @@
+package ax.gritlab.buy_01.media.service;
+
+import ax.gritlab.buy_01.media.config.StorageProperties;
+import ax.gritlab.buy_01.media.exception.InvalidFileTypeException;
+import ax.gritlab.buy_01.media.model.Media;
+import ax.gritlab.buy_01.media.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class MediaServiceBatchUploadTest {
+
+    @TempDir
+    Path storage;
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, String> kafkaTemplate = mock(KafkaTemplate.class);
+    private final MediaStatsPublisher mediaStatsPublisher = mock(MediaStatsPublisher.class);
+    private final User seller = User.builder().id("seller").build();
+    private MediaService mediaService;
+
+    @BeforeEach
+    public void setUp() {
+        StorageProperties storageProperties = new StorageProperties();
+        storageProperties.setLocation(storage.toString());
+        mediaService = new MediaService(null, storageProperties, mongoTemplate, kafkaTemplate, mediaStatsPublisher,
+                new ObjectMapper(), new SimpleMeterRegistry(), ObservationRegistry.NOOP);
+        mediaService.init();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testBatchIsInsertedOnceWithClientSideIds() throws IOException {
+        List<Media> saved = mediaService.saveAll(List.of(image("a.png"), image("b.png"), image("c.jpg")), seller);
+
+        ArgumentCaptor<Collection<Media>> inserted = ArgumentCaptor.forClass(Collection.class);
+        verify(mongoTemplate).insertAll(inserted.capture());
+        assertEquals(saved, List.copyOf(inserted.getValue()));
+        for (Media media : saved) {
+            assertTrue(ObjectId.isValid(media.getId()));
+            assertTrue(media.getUrl().endsWith("/images/" + media.getId()));
+            assertEquals("seller", media.getUserId());
+        }
+        assertEquals(3, saved.stream().map(Media::getId).distinct().count());
+        assertEquals(3, storedFiles().size());
+        // One stats update for the whole batch, and no per-file event
+        verify(mediaStatsPublisher).markChanged(List.of("seller"));
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    @Test
+    public void testBatchSizeIsLimited() throws IOException {
+        List<MultipartFile> tooMany = new ArrayList<>();
+        for (int i = 0; i <= MediaService.MAX_BATCH_UPLOAD; i++) {
+            tooMany.add(image(i + ".png"));
+        }
+
+        assertThrows(InvalidFileTypeException.class, () -> mediaService.saveAll(tooMany, seller));
+        assertThrows(InvalidFileTypeException.class, () -> mediaService.saveAll(List.of(), seller));
+        assertEquals(MediaService.MAX_BATCH_UPLOAD,
+                mediaService.saveAll(tooMany.subList(0, MediaService.MAX_BATCH_UPLOAD), seller).size());
+    }
+
+    @Test
+    public void testInvalidFileRejectsBatchBeforeAnyWrite() throws IOException {
+        MultipartFile text = new MockMultipartFile("files", "notes.txt", "text/plain", new byte[] {1});
+
+        assertThrows(InvalidFileTypeException.class,
+                () -> mediaService.saveAll(List.of(image("a.png"), text), seller));
+
+        assertEquals(List.of(), storedFiles());
+        verifyNoInteractions(mongoTemplate, kafkaTemplate, mediaStatsPublisher);
+    }
+
+    @Test
+    public void testFailedInsertRemovesWrittenFiles() throws IOException {
+        doThrow(new DuplicateKeyException("duplicate")).when(mongoTemplate).insertAll(anyCollection());
+
+        assertThrows(DuplicateKeyException.class,
+                () -> mediaService.saveAll(List.of(image("a.png"), image("b.png")), seller));
+
+        assertEquals(List.of(), storedFiles());
+        verifyNoInteractions(kafkaTemplate, mediaStatsPublisher);
+    }
+
+    @Test
+    public void testFailedWriteRemovesFilesAlreadyWritten() throws IOException {
+        MultipartFile unreadable = new MockMultipartFile("files", "b.png", "image/png", new byte[] {1}) {
+            @Override
+            public InputStream getInputStream() throws IOException {
+                throw new IOException("disk gone");
+            }
+        };
+
+        assertThrows(RuntimeException.class,
+                () -> mediaService.saveAll(List.of(image("a.png"), unreadable), seller));
+
+        assertEquals(List.of(), storedFiles());
+        verifyNoInteractions(mongoTemplate, kafkaTemplate, mediaStatsPublisher);
+    }
+
+    @Test
+    public void testWriteFailingMidFileLeavesNoPartialFile() throws IOException {
+        MultipartFile truncated = new MockMultipartFile("files", "b.png", "image/png", new byte[] {1}) {
+            @Override
+            public InputStream getInputStream() {
+                return new SequenceInputStream(new ByteArrayInputStream(new byte[] {1, 2}), new InputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        throw new IOException("connection reset");
+                    }
+                });
+            }
+        };
+
+        assertThrows(RuntimeException.class,
+                () -> mediaService.saveAll(List.of(image("a.png"), truncated), seller));
+
+        assertEquals(List.of(), storedFiles());
+    }
+
+    private static MultipartFile image(String filename) {
+        return new MockMultipartFile("files", filename, "image/png", new byte[] {1, 2, 3});
+    }
+
+    private List<Path> storedFiles() throws IOException {
+        try (Stream<Path> files = Files.list(storage)) {
+            return files.toList();
+        }
+    }
+}
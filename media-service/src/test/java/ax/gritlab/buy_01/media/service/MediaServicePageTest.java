@@ -0,0 +1,106 @@
+package ax.gritlab.buy_01.media.service;
+
+import ax.gritlab.buy_01.media.dto.MediaPageResponse;
+import ax.gritlab.buy_01.media.exception.InvalidRequestException;
+import ax.gritlab.buy_01.media.model.Media;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class MediaServicePageTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final MediaService mediaService = new MediaService(null, null, mongoTemplate, null, null, null, null, null);
+
+    @Test
+    public void testCursorRoundTripBreaksTiesOnId() {
+        // Same createdAt: the page boundary is decided by _id alone
+        Media newer = media(T0);
+        Media older = media(T0);
+        Media oldest = media(T0.minusMinutes(1));
+        when(mongoTemplate.find(any(Query.class), eq(Media.class)))
+                .thenReturn(List.of(newer, older, oldest))
+                .thenReturn(List.of(oldest));
+
+        MediaPageResponse first = mediaService.findPageByUserId("seller", 2, null, null, false);
+
+        assertEquals(List.of(newer.getId(), older.getId()), ids(first));
+        assertEquals(T0 + "|" + older.getId(),
+                new String(Base64.getUrlDecoder().decode(first.getNextCursor()), StandardCharsets.UTF_8));
+
+        MediaPageResponse second = mediaService.findPageByUserId("seller", 2, first.getNextCursor(), null, false);
+
+        assertEquals(List.of(oldest.getId()), ids(second));
+        assertNull(second.getNextCursor());
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).find(queries.capture(), eq(Media.class));
+        Query query = queries.getAllValues().get(1);
+        assertEquals(new Document("userId", "seller").append("$or", List.of(
+                        new Document("createdAt", new Document("$lt", T0)),
+                        new Document("createdAt", T0).append("_id", new Document("$lt", new ObjectId(older.getId()))))),
+                query.getQueryObject());
+        assertEquals(new Document("createdAt", -1).append("_id", -1), query.getSortObject());
+        assertEquals(3, query.getLimit());
+    }
+
+    @Test
+    public void testLimitIsClampedToMaxPageSize() {
+        when(mongoTemplate.find(any(Query.class), eq(Media.class))).thenReturn(List.of());
+
+        mediaService.findPageByUserId("seller", 10_000, null, null, false);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Media.class));
+        // One extra row tells whether there is a next page
+        assertEquals(MediaService.MAX_PAGE_SIZE + 1, query.getValue().getLimit());
+    }
+
+    @Test
+    public void testMalformedOrTamperedCursorIsRejected() {
+        String validId = new ObjectId().toHexString();
+        for (String cursor : List.of(
+                "not base64!",
+                encode("no separator"),
+                encode("yesterday|" + validId),
+                encode(T0 + "|not-an-object-id"),
+                encode(T0 + "|" + validId + "|extra"))) {
+            assertThrows(InvalidRequestException.class,
+                    () -> mediaService.findPageByUserId("seller", 10, cursor, null, false), cursor);
+        }
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    public void testInvalidArgumentsAreRejected() {
+        assertThrows(InvalidRequestException.class, () -> mediaService.findPageByUserId("seller", 0, null, null, false));
+        assertThrows(InvalidRequestException.class,
+                () -> mediaService.findPageByUserId("seller", 10, null, "product", true));
+    }
+
+    private static Media media(LocalDateTime createdAt) {
+        return Media.builder().id(new ObjectId().toHexString()).userId("seller").createdAt(createdAt).build();
+    }
+
+    private static List<String> ids(MediaPageResponse page) {
+        return page.getResults().stream().map(MediaPageResponse.Item::getId).toList();
+    }
+
+    private static String encode(String cursor) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,55 @@
+package ax.gritlab.buy_01.media.service;
+
+import ax.gritlab.buy_01.media.model.Media;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class MediaStatsPublisherTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, String> kafkaTemplate = mock(KafkaTemplate.class);
+    private final MediaStatsPublisher publisher = new MediaStatsPublisher(mongoTemplate, kafkaTemplate, new ObjectMapper());
+
+    @Test
+    public void testMarkingDoesNoWork() {
+        publisher.markChanged(Arrays.asList("s1", null));
+
+        verifyNoInteractions(mongoTemplate, kafkaTemplate);
+    }
+
+    @Test
+    public void testFlushCountsAllMarkedSellersOnce() {
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(Media.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(
+                        new Document("_id", "s1").append("mediaCount", 3).append("mediaBytes", 300L)),
+                        new Document()));
+        publisher.markChanged(List.of("s1"));
+        publisher.markChanged(List.of("s1", "s2"));
+
+        publisher.flush();
+
+        ArgumentCaptor<Aggregation> aggregation = ArgumentCaptor.forClass(Aggregation.class);
+        verify(mongoTemplate).aggregate(aggregation.capture(), eq(Media.class), eq(Document.class));
+        assertTrue(aggregation.getValue().toString().contains("s2"));
+        verify(kafkaTemplate).send(eq("media.stats"), eq("s1"), contains("\"mediaCount\":3,\"mediaBytes\":300"));
+        // No media left: the seller's totals drop to zero
+        verify(kafkaTemplate).send(eq("media.stats"), eq("s2"), contains("\"mediaCount\":0,\"mediaBytes\":0"));
+
+        publisher.flush();
+        verifyNoMoreInteractions(mongoTemplate, kafkaTemplate);
+    }
+}
@@ -29,10 +29,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String path = request.getRequestURI();
         String method = request.getMethod();
 
-        // Skip JWT filter for inter-service calls and public endpoints
-        return path.contains("/remove-media/") ||
-                path.contains("/cleanup-orphaned-media") ||
-                ("GET".equals(method) && path.startsWith("/products"));
+        // Skip JWT filter for inter-service calls and public endpoints (the seller's own dashboard is not public)
+        return path.contains("/cleanup-orphaned-media") ||
+                ("GET".equals(method) && path.startsWith("/products") && !path.startsWith("/products/sellers/me/"));
     }
 
     @Override
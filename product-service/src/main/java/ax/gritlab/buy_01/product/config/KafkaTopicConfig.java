@@ -15,6 +15,14 @@ public class KafkaTopicConfig {
                 .build();
     }
 
+    @Bean
+    public NewTopic productUpdatedTopic() {
+        return TopicBuilder.name("product.updated")
+                .partitions(1)
+                .replicas(1)
+                .build();
+    }
+
     @Bean
     public NewTopic productDeletedTopic() {
         return TopicBuilder.name("product.deleted")
@@ -22,4 +30,29 @@ public class KafkaTopicConfig {
                 .replicas(1)
                 .build();
     }
+
+    @Bean
+    public NewTopic mediaAssociatedTopic() {
+        return TopicBuilder.name("media.associated")
+                .partitions(1)
+                .replicas(1)
+                .build();
+    }
+
+    @Bean
+    public NewTopic mediaDeletedTopic() {
+        return TopicBuilder.name("media.deleted")
+                .partitions(1)
+                .replicas(1)
+                .build();
+    }
+
+    // One partition: media-service's snapshot marker must follow the snapshot
+    @Bean
+    public NewTopic mediaStatsTopic() {
+        return TopicBuilder.name("media.stats")
+                .partitions(1)
+                .replicas(1)
+                .build();
+    }
 }
@@ -1,16 +1,45 @@
 package ax.gritlab.buy_01.product.config;
 
+import ax.gritlab.buy_01.common.mongo.MongoIndexManager;
+import ax.gritlab.buy_01.product.model.Product;
+import ax.gritlab.buy_01.product.model.SellerSummary;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.config.EnableMongoAuditing;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
 
 @Configuration
 @EnableMongoAuditing
 public class MongoConfig {
 
+    private static final String ANY_ID = "000000000000000000000000";
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public MongoIndexManager mongoIndexManager(MongoTemplate mongoTemplate, MongoMappingContext mongoMappingContext) {
+        List<MongoIndexManager.QueryShape> queryShapes = List.of(
+                new MongoIndexManager.QueryShape("products by seller", Product.class,
+                        Query.query(where("userId").is(ANY_ID))),
+                new MongoIndexManager.QueryShape("catalog newest first", Product.class,
+                        new Query().with(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("_id")))),
+                new MongoIndexManager.QueryShape("catalog by price", Product.class,
+                        Query.query(where("price").gte(0).lte(100))
+                                .with(Sort.by(Sort.Order.asc("price"), Sort.Order.asc("_id")))),
+                new MongoIndexManager.QueryShape("seller catalog newest first", Product.class,
+                        Query.query(where("userId").is(ANY_ID))
+                                .with(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("_id")))),
+                new MongoIndexManager.QueryShape("in-stock catalog", Product.class,
+                        Query.query(where("quantity").gt(0))),
+                new MongoIndexManager.QueryShape("sellers by product count", SellerSummary.class,
+                        Query.query(where("productCount").gt(0))
+                                .with(Sort.by(Sort.Order.desc("productCount"), Sort.Order.asc("_id")))));
+        return new MongoIndexManager(mongoTemplate, mongoMappingContext,
+                List.of(Product.class, SellerSummary.class), queryShapes);
     }
 }
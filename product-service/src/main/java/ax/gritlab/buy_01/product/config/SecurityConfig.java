@@ -1,6 +1,7 @@
 package ax.gritlab.buy_01.product.config;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -28,8 +29,8 @@ public class SecurityConfig {
                         // Public endpoints
                         .requestMatchers("/products").permitAll() // Public: Get all products
                         .requestMatchers("/products/*").permitAll() // Public: Get product by ID
-                        .requestMatchers("/products/*/remove-media/*").permitAll() // Public: Remove media (for Media
-                                                                                   // Service)
+                        .requestMatchers(HttpMethod.GET, "/products/sellers/*/products").permitAll() // Public: Seller listing
+                        .requestMatchers(EndpointRequest.toAnyEndpoint()).permitAll() // Internal management port only
                         .anyRequest().authenticated())
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class); // FIXED: Use jwtAuthFilter
 
@@ -1,16 +1,26 @@
 package ax.gritlab.buy_01.product.controller;
 
+import ax.gritlab.buy_01.product.dto.ProductFilterRequest;
+import ax.gritlab.buy_01.product.dto.ProductFilterResponse;
 import ax.gritlab.buy_01.product.dto.ProductRequest;
 import ax.gritlab.buy_01.product.dto.ProductResponse;
+import ax.gritlab.buy_01.product.dto.ProductSearchResponse;
+import ax.gritlab.buy_01.product.dto.ProductSuggestion;
 import ax.gritlab.buy_01.product.model.User;
+import ax.gritlab.buy_01.product.service.ProductCatalogService;
+import ax.gritlab.buy_01.product.service.ProductSearchService;
 import ax.gritlab.buy_01.product.service.ProductService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.List;
 
 @RestController
@@ -19,15 +29,65 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductCatalogService productCatalogService;
+    private final ProductSearchService productSearchService;
 
+    // Catalog reads: the gateway may cache them briefly (it is invalidated on product.updated);
+    // browsers always revalidate
+    private static final CacheControl CATALOG_CACHE = CacheControl.maxAge(Duration.ZERO)
+            .sMaxAge(Duration.ofSeconds(30))
+            .staleWhileRevalidate(Duration.ofSeconds(60))
+            .cachePublic();
+
+    /**
+     * The whole catalog. With {@code Accept: application/x-ndjson} products are written one per
+     * line as they are read from Mongo. The default JSON array is collected into a list by Spring
+     * MVC before it is written, so it is held in memory at once; paged clients should use
+     * {@code /products/filter} instead.
+     */
     @GetMapping
-    public ResponseEntity<List<ProductResponse>> getAllProducts() {
-        return ResponseEntity.ok(productService.getAllProducts());
+    public ResponseEntity<Flux<ProductResponse>> getAllProducts() {
+        return ResponseEntity.ok().cacheControl(CATALOG_CACHE).body(productCatalogService.streamAllProducts());
+    }
+
+    /**
+     * Catalog page filtered by price range, seller(s) and stock, with facet counts for the same
+     * filters, e.g. {@code /products/filter?minPrice=10&maxPrice=50&inStock=true&sort=price_asc}.
+     */
+    @GetMapping("/filter")
+    public Mono<ResponseEntity<ProductFilterResponse>> filterProducts(@ModelAttribute ProductFilterRequest filter) {
+        return productCatalogService.filterProducts(filter)
+                .map(result -> ResponseEntity.ok().cacheControl(CATALOG_CACHE).body(result));
+    }
+
+    /**
+     * Full-text search over product names and descriptions, best match first. Every query word
+     * also matches the words it is a prefix of, so the last one may still be incomplete.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ProductSearchResponse> searchProducts(@RequestParam String q,
+            @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok().cacheControl(CATALOG_CACHE).body(productSearchService.search(q, page, size));
+    }
+
+    /**
+     * Typeahead: product names with a word starting with the prefix, newest product first.
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ProductSuggestion>> suggestProducts(@RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok().cacheControl(CATALOG_CACHE).body(productSearchService.suggest(prefix, limit));
+    }
+
+    @GetMapping("/batch")
+    public ResponseEntity<Flux<ProductResponse>> getProductsByIds(@RequestParam List<String> ids) {
+        return ResponseEntity.ok().cacheControl(CATALOG_CACHE).body(productCatalogService.getProductsByIds(ids));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ProductResponse> getProductById(@PathVariable String id) {
-        return ResponseEntity.ok(productService.getProductById(id));
+    public Mono<ResponseEntity<ProductResponse>> getProductById(@PathVariable String id) {
+        return productCatalogService.getProductById(id)
+                .map(product -> ResponseEntity.ok().cacheControl(CATALOG_CACHE).body(product));
     }
 
     @PostMapping
@@ -66,14 +126,17 @@ public class ProductController {
     }
 
     /**
-     * Remove media ID from product's mediaIds array
-     * Called by Media Service when media is deleted
+     * Remove media ID from product's mediaIds array (seller detaching an image in the product form).
+     * Deleted media is removed from products through media.deleted events instead.
      */
     @DeleteMapping("/{productId}/remove-media/{mediaId}")
+    @PreAuthorize("hasAuthority('SELLER')")
     public ResponseEntity<Void> removeMediaFromProduct(
             @PathVariable String productId,
-            @PathVariable String mediaId) {
-        productService.removeMediaFromProduct(productId, mediaId);
+            @PathVariable String mediaId,
+            Authentication authentication) {
+        String userId = ((User) authentication.getPrincipal()).getId();
+        productService.removeMediaFromProduct(productId, mediaId, userId);
         return ResponseEntity.ok().build();
     }
 
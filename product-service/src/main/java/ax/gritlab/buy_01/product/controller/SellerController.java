@@ -0,0 +1,65 @@
+package ax.gritlab.buy_01.product.controller;
+
+import ax.gritlab.buy_01.product.dto.SellerListResponse;
+import ax.gritlab.buy_01.product.dto.SellerProductsResponse;
+import ax.gritlab.buy_01.product.dto.SellerSummaryResponse;
+import ax.gritlab.buy_01.product.model.User;
+import ax.gritlab.buy_01.product.service.SellerSummaryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+/**
+ * Seller dashboard and seller listings, served from the per-seller summaries.
+ */
+@RestController
+@RequestMapping("/products/sellers")
+@RequiredArgsConstructor
+public class SellerController {
+
+    private final SellerSummaryService sellerSummaryService;
+
+    // Same policy as the catalog reads: product events purge the gateway cache
+    private static final CacheControl SELLER_LIST_CACHE = CacheControl.maxAge(Duration.ZERO)
+            .sMaxAge(Duration.ofSeconds(30))
+            .staleWhileRevalidate(Duration.ofSeconds(60))
+            .cachePublic();
+
+    /**
+     * Sellers with at least one product, most products first.
+     */
+    @GetMapping
+    public ResponseEntity<SellerListResponse> listSellers(@RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok().cacheControl(SELLER_LIST_CACHE).body(sellerSummaryService.listSellers(page, size));
+    }
+
+    /**
+     * Totals for the signed-in seller's dashboard: products, stock, media count and bytes.
+     */
+    @GetMapping("/me/summary")
+    @PreAuthorize("hasAuthority('SELLER')")
+    public ResponseEntity<SellerSummaryResponse> getMySummary(Authentication authentication) {
+        String userId = ((User) authentication.getPrincipal()).getId();
+        return ResponseEntity.ok(sellerSummaryService.getSummary(userId));
+    }
+
+    /**
+     * A seller's products newest first, with the dashboard columns only.
+     */
+    @GetMapping("/{sellerId}/products")
+    public ResponseEntity<SellerProductsResponse> listSellerProducts(@PathVariable String sellerId,
+            @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok().cacheControl(SELLER_LIST_CACHE)
+                .body(sellerSummaryService.listSellerProducts(sellerId, page, size));
+    }
+}
@@ -0,0 +1,28 @@
+package ax.gritlab.buy_01.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Query parameters of {@code GET /products/filter}; every filter is optional.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFilterRequest {
+    private Double minPrice;
+    private Double maxPrice;
+    private List<String> sellerId;
+    private Boolean inStock;
+    // newest (default), price_asc or price_desc
+    private String sort;
+    @Builder.Default
+    private int page = 0;
+    @Builder.Default
+    private int size = 20;
+}
@@ -0,0 +1,56 @@
+package ax.gritlab.buy_01.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFilterResponse {
+    private int page;
+    private int size;
+    private long total;
+    private List<ProductResponse> results;
+    private Facets facets;
+
+    /**
+     * Counts over all products matching the filters.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Facets {
+        private List<PriceBucket> price;
+        private List<SellerCount> sellers;
+        private long inStock;
+        private long outOfStock;
+    }
+
+    /**
+     * Products priced from {@code min} (inclusive) to {@code max} (exclusive, null = no upper bound).
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PriceBucket {
+        private Double min;
+        private Double max;
+        private long count;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SellerCount {
+        private String sellerId;
+        private long count;
+    }
+}
@@ -0,0 +1,32 @@
+package ax.gritlab.buy_01.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SellerListResponse {
+    private int page;
+    private int size;
+    private long total;
+    private List<Seller> results;
+
+    /**
+     * Public part of a seller summary.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Seller {
+        private String sellerId;
+        private long productCount;
+        private String updatedAt;
+    }
+}
@@ -0,0 +1,36 @@
+package ax.gritlab.buy_01.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SellerProductsResponse {
+    private String sellerId;
+    private int page;
+    private int size;
+    private long total;
+    private List<Item> results;
+
+    /**
+     * Dashboard row: the product without its description and with its first image only.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private String id;
+        private String name;
+        private Double price;
+        private Integer stock;
+        private String imageUrl;
+        private String updatedAt;
+    }
+}
@@ -0,0 +1,19 @@
+package ax.gritlab.buy_01.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SellerSummaryResponse {
+    private String sellerId;
+    private long productCount;
+    private long totalStock;
+    private long mediaCount;
+    private long mediaBytes;
+    private String updatedAt;
+}
@@ -9,6 +9,9 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -20,6 +23,14 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "products")
+// One index per list sort, each with _id as tie-breaker; their leading fields also serve
+// the seller lookups and price range filters
+@CompoundIndexes({
+        @CompoundIndex(name = "userId_createdAt_id", def = "{'userId': 1, 'createdAt': -1, '_id': -1}",
+                background = true),
+        @CompoundIndex(name = "createdAt_id", def = "{'createdAt': -1, '_id': -1}", background = true),
+        @CompoundIndex(name = "price_id", def = "{'price': 1, '_id': 1}", background = true)
+})
 public class Product {
     @Id
     private String id;
@@ -34,7 +45,9 @@ public class Product {
     @NotNull
     private Double price;
 
+    // Indexed for the in-stock catalog filter
     @NotNull
+    @Indexed(background = true)
     private Integer quantity;
 
     @NotNull
@@ -0,0 +1,40 @@
+package ax.gritlab.buy_01.product.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Per-seller totals for the seller dashboard, keyed by the seller's user id. Maintained by
+ * {@code SellerSummaryService} from product and media events rather than computed on read.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "seller_summaries")
+// Seller listing: most products first
+@CompoundIndex(name = "productCount_id", def = "{'productCount': -1, '_id': 1}", background = true)
+public class SellerSummary {
+    @Id
+    private String id;
+
+    private long productCount;
+
+    private long totalStock;
+
+    private long mediaCount;
+
+    private long mediaBytes;
+
+    // media-service's clock when it counted mediaCount and mediaBytes, in epoch millis
+    private long mediaAt;
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,11 @@
+package ax.gritlab.buy_01.product.repository;
+
+import ax.gritlab.buy_01.product.model.Product;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+/**
+ * Non-blocking access to products for the catalog read endpoints; writes stay on
+ * {@link ProductRepository}.
+ */
+public interface ReactiveProductRepository extends ReactiveMongoRepository<Product, String> {
+}
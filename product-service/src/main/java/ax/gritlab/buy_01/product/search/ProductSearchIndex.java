@@ -0,0 +1,221 @@
+package ax.gritlab.buy_01.product.search;
+
+import ax.gritlab.buy_01.product.model.Product;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over product names and descriptions, ranked with BM25.
+ * <p>
+ * Every query token matches the terms it is a prefix of ("lap" finds "laptop"); exact matches
+ * score in full, prefix expansions at {@link #PREFIX_WEIGHT}. Name terms count
+ * {@link #NAME_WEIGHT} times, so a hit in the name outranks one in the description.
+ * <p>
+ * Reads share a lock and never touch the database; writes replace a product's postings.
+ */
+public class ProductSearchIndex {
+
+    static final int NAME_WEIGHT = 3;
+    static final double PREFIX_WEIGHT = 0.5;
+    static final int MAX_QUERY_TOKENS = 10;
+    static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final Map<String, Document> documents = new HashMap<>();
+    // term -> (product id -> weighted term frequency); sorted for prefix lookups
+    private final NavigableMap<String, Map<String, Integer>> postings = new TreeMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long totalLength;
+
+    public record Hit(Product product, double score) {
+    }
+
+    public record Result(int total, List<Hit> hits) {
+    }
+
+    private record Document(Product product, Map<String, Integer> termFrequencies, int length) {
+    }
+
+    /**
+     * Adds the product or replaces its previous version.
+     */
+    public void put(Product product) {
+        Document document = analyze(product);
+        lock.writeLock().lock();
+        try {
+            removeLocked(product.getId());
+            documents.put(product.getId(), document);
+            document.termFrequencies().forEach((term, tf) ->
+                    postings.computeIfAbsent(term, t -> new HashMap<>()).put(product.getId(), tf));
+            totalLength += document.length();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the product only if the index has no version of it yet. Used by the initial load so
+     * it never overwrites a newer version applied from an event.
+     */
+    public boolean putIfAbsent(Product product) {
+        lock.writeLock().lock();
+        try {
+            if (documents.containsKey(product.getId())) {
+                return false;
+            }
+            put(product);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String productId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Products matching any query token, best first (ties by id), {@code size} hits from {@code offset}.
+     */
+    public Result search(String query, int offset, int size) {
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (tokens.size() > MAX_QUERY_TOKENS) {
+            tokens = tokens.subList(0, MAX_QUERY_TOKENS);
+        }
+        if (tokens.isEmpty()) {
+            return new Result(0, List.of());
+        }
+
+        lock.readLock().lock();
+        try {
+            if (documents.isEmpty()) {
+                return new Result(0, List.of());
+            }
+            double averageLength = (double) totalLength / documents.size();
+            Map<String, Double> scores = new HashMap<>();
+            for (String token : tokens) {
+                scoreToken(token, averageLength).forEach((id, score) -> scores.merge(id, score, Double::sum));
+            }
+
+            List<Map.Entry<String, Double>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort(Map.Entry.<String, Double>comparingByValue(Comparator.reverseOrder())
+                    .thenComparing(Map.Entry.comparingByKey()));
+            List<Hit> hits = new ArrayList<>();
+            for (int i = offset; i < ranked.size() && hits.size() < size; i++) {
+                Map.Entry<String, Double> entry = ranked.get(i);
+                hits.add(new Hit(documents.get(entry.getKey()).product(), entry.getValue()));
+            }
+            return new Result(ranked.size(), hits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lower-cased, diacritics-free runs of letters and digits.
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(normalized)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // Best score per product for one query token over its exact term and prefix expansions
+    private Map<String, Double> scoreToken(String token, double averageLength) {
+        Map<String, Double> best = new HashMap<>();
+        int expansions = 0;
+        for (Map.Entry<String, Map<String, Integer>> term
+                : postings.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+            if (expansions++ == MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            double weight = term.getKey().equals(token) ? 1.0 : PREFIX_WEIGHT;
+            Map<String, Integer> matches = term.getValue();
+            double idf = Math.log(1 + (documents.size() - matches.size() + 0.5) / (matches.size() + 0.5));
+            matches.forEach((id, tf) -> {
+                double lengthNorm = 1 - B + B * documents.get(id).length() / averageLength;
+                double score = weight * idf * tf * (K1 + 1) / (tf + K1 * lengthNorm);
+                best.merge(id, score, Math::max);
+            });
+        }
+        return best;
+    }
+
+    private void removeLocked(String productId) {
+        Document previous = documents.remove(productId);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.termFrequencies().keySet()) {
+            Map<String, Integer> matches = postings.get(term);
+            matches.remove(productId);
+            if (matches.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= previous.length();
+    }
+
+    private static Document analyze(Product product) {
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        int length = 0;
+        for (String token : tokenize(product.getName())) {
+            termFrequencies.merge(token, NAME_WEIGHT, Integer::sum);
+            length += NAME_WEIGHT;
+        }
+        for (String token : tokenize(product.getDescription())) {
+            termFrequencies.merge(token, 1, Integer::sum);
+            length++;
+        }
+        return new Document(product, termFrequencies, Math.max(length, 1));
+    }
+
+    // Distinct indexed terms; removed products must not leave empty postings behind
+    int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
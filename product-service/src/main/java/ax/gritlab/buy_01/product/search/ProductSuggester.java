@@ -0,0 +1,292 @@
+package ax.gritlab.buy_01.product.search;
+
+import ax.gritlab.buy_01.product.model.Product;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Typeahead over product names: a trie whose nodes keep their {@link #MAX_SUGGESTIONS} best
+ * names precomputed, so a lookup only walks the prefix.
+ * <p>
+ * Each distinct (normalized) name is one suggestion, reachable from the start of each of its
+ * words ("office chair" is found by "chair" too), ranked newest product first. Keys are cut at
+ * {@link #MAX_KEY_LENGTH} characters and {@link #MAX_WORDS} word starts, and at most
+ * {@code maxNames} names are held (the oldest are dropped first), which bounds the trie size.
+ */
+public class ProductSuggester {
+
+    public static final int MAX_SUGGESTIONS = 10;
+    static final int MAX_KEY_LENGTH = 32;
+    static final int MAX_WORDS = 8;
+
+    private static final Comparator<Name> BEST_FIRST = Comparator.comparingLong(Name::weight).reversed()
+            .thenComparing(Name::key);
+
+    private final int maxNames;
+    private final Node root = new Node();
+    private final Map<String, Name> names = new HashMap<>();
+    private final Map<String, Name> nameByProduct = new HashMap<>();
+    private final TreeSet<Name> byWeight = new TreeSet<>(BEST_FIRST);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public record Suggestion(String text, String productId) {
+    }
+
+    public ProductSuggester(int maxNames) {
+        this.maxNames = maxNames;
+    }
+
+    /**
+     * Adds the product or moves it to its new name.
+     */
+    public void put(Product product) {
+        String key = String.join(" ", ProductSearchIndex.tokenize(product.getName()));
+        lock.writeLock().lock();
+        try {
+            removeLocked(product.getId());
+            if (key.isEmpty()) {
+                return;
+            }
+            Name name = names.get(key);
+            if (name == null) {
+                name = new Name(key, product.getName().strip());
+                names.put(key, name);
+            } else {
+                unlink(name);
+            }
+            name.products.put(product.getId(), weight(product));
+            nameByProduct.put(product.getId(), name);
+            link(name);
+            if (names.size() > maxNames) {
+                Name oldest = byWeight.last();
+                new ArrayList<>(oldest.products.keySet()).forEach(this::removeLocked);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the product only if it has no name here yet, so the initial load never overwrites a
+     * newer version applied from an event.
+     */
+    public void putIfAbsent(Product product) {
+        lock.writeLock().lock();
+        try {
+            if (!nameByProduct.containsKey(product.getId())) {
+                put(product);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String productId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return names.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String normalized = String.join(" ", ProductSearchIndex.tokenize(prefix));
+        if (normalized.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        String path = normalized.length() > MAX_KEY_LENGTH ? normalized.substring(0, MAX_KEY_LENGTH) : normalized;
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < path.length() && node != null; i++) {
+                node = node.children.get(path.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            if (path.length() == normalized.length()) {
+                List<Suggestion> suggestions = new ArrayList<>();
+                for (Name name : node.top) {
+                    if (suggestions.size() == limit) {
+                        break;
+                    }
+                    suggestions.add(new Suggestion(name.text, name.newestProduct()));
+                }
+                return suggestions;
+            }
+            // Keys stop at the trie depth, so the precomputed top names need not include the ones
+            // matching a longer prefix: check every name below the node
+            TreeSet<Name> matches = new TreeSet<>(BEST_FIRST);
+            collectMatches(node, normalized, matches);
+            return matches.stream()
+                    .limit(limit)
+                    .map(name -> new Suggestion(name.text, name.newestProduct()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void collectMatches(Node node, String prefix, TreeSet<Name> matches) {
+        for (Name name : node.names) {
+            if (name.matches(prefix)) {
+                matches.add(name);
+            }
+        }
+        node.children.values().forEach(child -> collectMatches(child, prefix, matches));
+    }
+
+    private void removeLocked(String productId) {
+        Name name = nameByProduct.remove(productId);
+        if (name == null) {
+            return;
+        }
+        unlink(name);
+        name.products.remove(productId);
+        if (name.products.isEmpty()) {
+            names.remove(name.key);
+        } else {
+            link(name);
+        }
+    }
+
+    private void link(Name name) {
+        name.weight = name.products.values().stream().mapToLong(Long::longValue).max().orElse(0);
+        byWeight.add(name);
+        for (String key : name.keys()) {
+            List<Node> path = new ArrayList<>();
+            Node node = root;
+            path.add(node);
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+                path.add(node);
+            }
+            node.names.add(name);
+            refreshTop(path, key);
+        }
+    }
+
+    private void unlink(Name name) {
+        byWeight.remove(name);
+        for (String key : name.keys()) {
+            List<Node> path = new ArrayList<>();
+            Node node = root;
+            path.add(node);
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.children.get(key.charAt(i));
+                path.add(node);
+            }
+            if (node == null) {
+                continue;
+            }
+            node.names.remove(name);
+            refreshTop(path, key);
+        }
+    }
+
+    // Recomputes the best names bottom-up along a key's path and prunes nodes left empty
+    private void refreshTop(List<Node> path, String key) {
+        for (int depth = path.size() - 1; depth >= 0; depth--) {
+            Node node = path.get(depth);
+            TreeSet<Name> best = new TreeSet<>(BEST_FIRST);
+            best.addAll(node.names);
+            node.children.values().forEach(child -> best.addAll(Arrays.asList(child.top)));
+            node.top = best.stream().limit(MAX_SUGGESTIONS).toArray(Name[]::new);
+            if (depth > 0 && node.top.length == 0) {
+                path.get(depth - 1).children.remove(key.charAt(depth - 1));
+            }
+        }
+    }
+
+    private static long weight(Product product) {
+        LocalDateTime created = product.getCreatedAt() != null ? product.getCreatedAt() : product.getUpdatedAt();
+        return created != null ? created.toInstant(ZoneOffset.UTC).toEpochMilli() : 0;
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private final List<Name> names = new ArrayList<>(1);
+        private Name[] top = new Name[0];
+    }
+
+    private static final class Name {
+        private final String key;
+        private final String text;
+        // product id -> weight; the name ranks by its newest product
+        private final Map<String, Long> products = new HashMap<>(2);
+        private long weight;
+
+        Name(String key, String text) {
+            this.key = key;
+            this.text = text;
+        }
+
+        long weight() {
+            return weight;
+        }
+
+        String key() {
+            return key;
+        }
+
+        // The name from the start of each word, cut to the trie depth
+        List<String> keys() {
+            List<String> keys = new ArrayList<>();
+            for (int start : wordStarts()) {
+                keys.add(key.substring(start, Math.min(key.length(), start + MAX_KEY_LENGTH)));
+            }
+            return keys;
+        }
+
+        boolean matches(String prefix) {
+            for (int start : wordStarts()) {
+                if (key.startsWith(prefix, start)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private List<Integer> wordStarts() {
+            List<Integer> starts = new ArrayList<>();
+            int start = 0;
+            while (starts.size() < MAX_WORDS) {
+                starts.add(start);
+                int space = key.indexOf(' ', start);
+                if (space < 0) {
+                    break;
+                }
+                start = space + 1;
+            }
+            return starts;
+        }
+
+        String newestProduct() {
+            return products.entrySet().stream()
+                    .max(Map.Entry.<String, Long>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+                    .map(Map.Entry::getKey)
+                    .orElse(null);
+        }
+    }
+}
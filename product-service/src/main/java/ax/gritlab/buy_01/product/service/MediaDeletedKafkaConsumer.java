@@ -0,0 +1,47 @@
+package ax.gritlab.buy_01.product.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Removes deleted media from products. Consumes media.deleted events
+ * ({@code {id, productId, userId, size}}) in batches and groups them by product, so a
+ * batch costs one bulk write with one $pull per affected product.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MediaDeletedKafkaConsumer {
+
+    private final ProductService productService;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(topics = "media.deleted", groupId = "product-service-group", batch = "true")
+    public void consumeMediaDeleted(List<String> messages) {
+        Map<String, Set<String>> mediaIdsByProduct = new HashMap<>();
+        for (String message : messages) {
+            try {
+                JsonNode node = objectMapper.readTree(message);
+                String mediaId = node.path("id").asText(null);
+                String productId = node.path("productId").asText(null);
+                // Media that was never attached to a product needs no update here
+                if (mediaId != null && productId != null) {
+                    mediaIdsByProduct.computeIfAbsent(productId, k -> new HashSet<>()).add(mediaId);
+                }
+            } catch (Exception e) {
+                log.warn("Skipping unreadable media.deleted event: {}", e.getMessage());
+            }
+        }
+        productService.removeDeletedMedia(mediaIdsByProduct);
+    }
+}
@@ -0,0 +1,60 @@
+package ax.gritlab.buy_01.product.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.circuitbreaker.CircuitBreaker;
+import org.springframework.cloud.client.circuitbreaker.CircuitBreakerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Calls to media-service, guarded by the "media-service" circuit breaker and bulkhead.
+ * <p>
+ * When media-service is slow or down, calls fail fast into the fallbacks instead of
+ * tying up product-service request threads.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MediaServiceClient {
+
+    public enum MediaStatus {
+        EXISTS, MISSING, UNKNOWN
+    }
+
+    private static final String CIRCUIT_BREAKER = "media-service";
+
+    private final RestTemplate restTemplate;
+    private final CircuitBreakerFactory<?, ?> circuitBreakerFactory;
+
+    @Value("${media.service.url:http://media-service/media}")
+    private String mediaServiceUrl;
+
+    /**
+     * 404 and 403 answers count as a successful call ({@link MediaStatus#MISSING}); anything else
+     * that fails is {@link MediaStatus#UNKNOWN}, so callers can keep the reference.
+     */
+    public MediaStatus checkMedia(String mediaId) {
+        String url = mediaServiceUrl + "/images/" + mediaId;
+        return circuitBreaker().run(() -> {
+            try {
+                restTemplate.headForHeaders(url);
+                return MediaStatus.EXISTS;
+            } catch (HttpClientErrorException e) {
+                if (e.getStatusCode().value() == 404 || e.getStatusCode().value() == 403) {
+                    return MediaStatus.MISSING;
+                }
+                throw e;
+            }
+        }, e -> {
+            log.warn("Could not check media {}: {}", mediaId, e.getMessage());
+            return MediaStatus.UNKNOWN;
+        });
+    }
+
+    private CircuitBreaker circuitBreaker() {
+        return circuitBreakerFactory.create(CIRCUIT_BREAKER);
+    }
+}
@@ -0,0 +1,215 @@
+package ax.gritlab.buy_01.product.service;
+
+import ax.gritlab.buy_01.product.dto.ProductFilterRequest;
+import ax.gritlab.buy_01.product.dto.ProductFilterResponse;
+import ax.gritlab.buy_01.product.dto.ProductResponse;
+import ax.gritlab.buy_01.product.exception.ResourceNotFoundException;
+import ax.gritlab.buy_01.product.model.Product;
+import ax.gritlab.buy_01.product.repository.ReactiveProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reactive catalog reads. Products are read from the Mongo cursor and mapped one at a time, so no
+ * request thread waits on the database. Only the ndjson representation of the full listing is
+ * written incrementally; the JSON array is collected by Spring MVC before it is written.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductCatalogService {
+
+    public static final int MAX_BATCH_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_SELLER_FACETS = 20;
+    // Lower bounds of the price facet buckets; the last one is open-ended
+    static final List<Double> PRICE_BOUNDARIES = List.of(0.0, 25.0, 50.0, 100.0, 250.0, 500.0, 1000.0);
+
+    private static final Set<String> SORTS = Set.of("newest", "price_asc", "price_desc");
+    private static final String OPEN_BUCKET = "open";
+
+    private final ReactiveProductRepository reactiveProductRepository;
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final ProductService productService;
+    private final ProductFacetCache productFacetCache;
+
+    public Flux<ProductResponse> streamAllProducts() {
+        return reactiveProductRepository.findAll()
+                .map(productService::toProductResponse);
+    }
+
+    public Mono<ProductResponse> getProductById(String id) {
+        return reactiveProductRepository.findById(id)
+                .map(productService::toProductResponse)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Product not found with id: " + id)));
+    }
+
+    /**
+     * Products for the given ids in storage order; unknown ids are skipped.
+     */
+    public Flux<ProductResponse> getProductsByIds(List<String> ids) {
+        if (ids.size() > MAX_BATCH_SIZE) {
+            return Flux.error(new IllegalArgumentException(
+                    "At most " + MAX_BATCH_SIZE + " product ids can be requested at once"));
+        }
+        return reactiveProductRepository.findAllById(ids.stream().distinct().toList())
+                .map(productService::toProductResponse);
+    }
+
+    /**
+     * One page of products matching the filters plus price, seller and stock counts over all
+     * matches, computed by a single aggregation: the filters run as an indexed $match and
+     * $facet splits the matches into the page and the counts. Recent results are cached briefly.
+     */
+    public Mono<ProductFilterResponse> filterProducts(ProductFilterRequest filter) {
+        String sort = filter.getSort() == null ? "newest" : filter.getSort();
+        List<String> sellers = filter.getSellerId() == null ? List.of()
+                : filter.getSellerId().stream().distinct().sorted().toList();
+        if (filter.getPage() < 0 || filter.getSize() < 1 || filter.getSize() > MAX_PAGE_SIZE) {
+            return Mono.error(new IllegalArgumentException(
+                    "page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE));
+        }
+        if (!SORTS.contains(sort)) {
+            return Mono.error(new IllegalArgumentException("sort must be one of " + SORTS));
+        }
+        if (sellers.size() > MAX_BATCH_SIZE) {
+            return Mono.error(new IllegalArgumentException(
+                    "At most " + MAX_BATCH_SIZE + " sellers can be filtered on at once"));
+        }
+
+        String cacheKey = String.join("|", String.valueOf(filter.getMinPrice()), String.valueOf(filter.getMaxPrice()),
+                String.join(",", sellers), String.valueOf(filter.getInStock()), sort,
+                String.valueOf(filter.getPage()), String.valueOf(filter.getSize()));
+        ProductFilterResponse cached = productFacetCache.get(cacheKey);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(filterCriteria(filter, sellers)),
+                Aggregation.facet(
+                                Aggregation.sort(pageSort(sort)),
+                                Aggregation.skip((long) filter.getPage() * filter.getSize()),
+                                Aggregation.limit(filter.getSize())).as("results")
+                        .and(Aggregation.group().count().as("count")).as("total")
+                        .and(Aggregation.bucket("price")
+                                .withBoundaries(PRICE_BOUNDARIES.toArray())
+                                .withDefaultBucket(OPEN_BUCKET)
+                                .andOutputCount().as("count")).as("price")
+                        .and(Aggregation.group("userId").count().as("count"),
+                                Aggregation.sort(Sort.by(Sort.Order.desc("count"), Sort.Order.asc("_id"))),
+                                Aggregation.limit(MAX_SELLER_FACETS)).as("sellers")
+                        .and(Aggregation.project()
+                                        .and(ComparisonOperators.Gt.valueOf("quantity").greaterThanValue(0))
+                                        .as("inStock"),
+                                Aggregation.group("inStock").count().as("count")).as("stock"));
+
+        return reactiveMongoTemplate.aggregate(aggregation, reactiveMongoTemplate.getCollectionName(Product.class),
+                        Document.class)
+                .next()
+                .map(facets -> toFilterResponse(facets, filter))
+                .doOnNext(response -> productFacetCache.put(cacheKey, response));
+    }
+
+    private static Criteria filterCriteria(ProductFilterRequest filter, List<String> sellers) {
+        Criteria criteria = new Criteria();
+        if (filter.getMinPrice() != null || filter.getMaxPrice() != null) {
+            Criteria price = criteria.and("price");
+            if (filter.getMinPrice() != null) {
+                price.gte(filter.getMinPrice());
+            }
+            if (filter.getMaxPrice() != null) {
+                price.lte(filter.getMaxPrice());
+            }
+        }
+        if (!sellers.isEmpty()) {
+            criteria.and("userId").in(sellers);
+        }
+        if (filter.getInStock() != null) {
+            Criteria quantity = criteria.and("quantity");
+            if (filter.getInStock()) {
+                quantity.gt(0);
+            } else {
+                quantity.lte(0);
+            }
+        }
+        return criteria;
+    }
+
+    private static Sort pageSort(String sort) {
+        return switch (sort) {
+            case "price_asc" -> Sort.by(Sort.Order.asc("price"), Sort.Order.asc("_id"));
+            case "price_desc" -> Sort.by(Sort.Order.desc("price"), Sort.Order.desc("_id"));
+            default -> Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("_id"));
+        };
+    }
+
+    private ProductFilterResponse toFilterResponse(Document facets, ProductFilterRequest filter) {
+        List<ProductResponse> results = facets.getList("results", Document.class).stream()
+                .map(document -> reactiveMongoTemplate.getConverter().read(Product.class, document))
+                .map(productService::toProductResponse)
+                .toList();
+        List<Document> total = facets.getList("total", Document.class);
+
+        // $bucket leaves out empty buckets; the response lists every range
+        Map<Object, Long> priceCounts = new HashMap<>();
+        facets.getList("price", Document.class)
+                .forEach(bucket -> priceCounts.put(bucket.get("_id"), count(bucket)));
+        List<ProductFilterResponse.PriceBucket> price = new ArrayList<>();
+        for (int i = 0; i < PRICE_BOUNDARIES.size(); i++) {
+            boolean last = i == PRICE_BOUNDARIES.size() - 1;
+            price.add(ProductFilterResponse.PriceBucket.builder()
+                    .min(PRICE_BOUNDARIES.get(i))
+                    .max(last ? null : PRICE_BOUNDARIES.get(i + 1))
+                    .count(priceCounts.getOrDefault(last ? OPEN_BUCKET : PRICE_BOUNDARIES.get(i), 0L))
+                    .build());
+        }
+
+        List<ProductFilterResponse.SellerCount> sellers = facets.getList("sellers", Document.class).stream()
+                .map(seller -> ProductFilterResponse.SellerCount.builder()
+                        .sellerId(seller.getString("_id"))
+                        .count(count(seller))
+                        .build())
+                .toList();
+
+        long inStock = 0;
+        long outOfStock = 0;
+        for (Document stock : facets.getList("stock", Document.class)) {
+            if (Boolean.TRUE.equals(stock.get("_id"))) {
+                inStock = count(stock);
+            } else {
+                outOfStock += count(stock);
+            }
+        }
+
+        return ProductFilterResponse.builder()
+                .page(filter.getPage())
+                .size(filter.getSize())
+                .total(total.isEmpty() ? 0 : count(total.get(0)))
+                .results(results)
+                .facets(ProductFilterResponse.Facets.builder()
+                        .price(price)
+                        .sellers(sellers)
+                        .inStock(inStock)
+                        .outOfStock(outOfStock)
+                        .build())
+                .build();
+    }
+
+    private static long count(Document document) {
+        return ((Number) document.get("count")).longValue();
+    }
+}
@@ -0,0 +1,55 @@
+package ax.gritlab.buy_01.product.service;
+
+import ax.gritlab.buy_01.product.dto.ProductFilterResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Small in-memory LRU cache of filter results and facet counts, keyed by the normalized filter.
+ * Entries only live a few seconds, so counts lag product changes by at most the TTL.
+ */
+@Component
+public class ProductFacetCache {
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Map<String, CachedResult> entries;
+
+    public ProductFacetCache(
+            @Value("${product.facet-cache.max-entries:1000}") int maxEntries,
+            @Value("${product.facet-cache.ttl-seconds:10}") long ttlSeconds) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResult> eldest) {
+                return size() > ProductFacetCache.this.maxEntries;
+            }
+        };
+    }
+
+    public synchronized ProductFilterResponse get(String key) {
+        CachedResult entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt < System.currentTimeMillis()) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.result;
+    }
+
+    public synchronized void put(String key, ProductFilterResponse result) {
+        if (maxEntries <= 0 || result == null) {
+            return;
+        }
+        entries.put(key, new CachedResult(result, System.currentTimeMillis() + ttlMillis));
+    }
+
+    private record CachedResult(ProductFilterResponse result, long expiresAt) {
+    }
+}
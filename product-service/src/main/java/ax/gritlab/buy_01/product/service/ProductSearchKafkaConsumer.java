@@ -0,0 +1,52 @@
+package ax.gritlab.buy_01.product.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies product.updated ({@code {id}}) and product.deleted ({@code {id, mediaIds}} or a raw id)
+ * events to the local search index. Every instance holds its own index, so each one uses its own
+ * consumer group and sees every event.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductSearchKafkaConsumer {
+
+    private final ProductSearchService productSearchService;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(topics = { "product.updated", "product.deleted" },
+            groupId = "product-search-${random.uuid}")
+    public void consumeProductEvent(String message, @Header(KafkaHeaders.RECEIVED_TOPIC) String topic) {
+        String productId = productId(message);
+        if (productId == null) {
+            log.warn("Skipping {} event without product id: {}", topic, message);
+            return;
+        }
+        if ("product.deleted".equals(topic)) {
+            productSearchService.onProductDeleted(productId);
+        } else {
+            productSearchService.onProductUpdated(productId);
+        }
+    }
+
+    private String productId(String message) {
+        if (message == null || message.isBlank()) {
+            return null;
+        }
+        if (!message.trim().startsWith("{")) {
+            return message.trim();
+        }
+        try {
+            return objectMapper.readTree(message).path("id").asText(null);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package ax.gritlab.buy_01.product.service;
+
+import ax.gritlab.buy_01.product.dto.ProductSearchResponse;
+import ax.gritlab.buy_01.product.dto.ProductSuggestion;
+import ax.gritlab.buy_01.product.model.Product;
+import ax.gritlab.buy_01.product.repository.ProductRepository;
+import ax.gritlab.buy_01.product.search.ProductSearchIndex;
+import ax.gritlab.buy_01.product.search.ProductSuggester;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Product search and typeahead served from a {@link ProductSearchIndex} and a
+ * {@link ProductSuggester} held by this instance.
+ * <p>
+ * Both are loaded from the products collection once the application is ready and then kept
+ * current by {@link ProductSearchKafkaConsumer}; events applied while the initial load runs win
+ * over the loaded snapshot.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductSearchService {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final ProductRepository productRepository;
+    private final MongoTemplate mongoTemplate;
+    private final ProductService productService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${product.suggest.max-names:50000}")
+    private int suggestMaxNames;
+
+    private final ProductSearchIndex index = new ProductSearchIndex();
+    private ProductSuggester suggester;
+    // Products deleted while the initial load runs; the snapshot must not bring them back
+    private volatile Set<String> deletedDuringLoad;
+
+    @PostConstruct
+    public void init() {
+        suggester = new ProductSuggester(suggestMaxNames);
+        Gauge.builder("product.search.index.documents", index, ProductSearchIndex::size)
+                .description("Products in the local search index")
+                .register(meterRegistry);
+        Gauge.builder("product.search.suggest.names", suggester, ProductSuggester::size)
+                .description("Distinct product names in the typeahead trie")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        Set<String> deleted = ConcurrentHashMap.newKeySet();
+        deletedDuringLoad = deleted;
+        long start = System.nanoTime();
+        int loaded = 0;
+        try (Stream<Product> products = mongoTemplate.stream(new Query(), Product.class)) {
+            for (Product product : (Iterable<Product>) products::iterator) {
+                if (index.putIfAbsent(product)) {
+                    loaded++;
+                }
+                suggester.putIfAbsent(product);
+                // Checked after the puts, so a concurrent delete is never lost
+                if (deleted.contains(product.getId())) {
+                    index.remove(product.getId());
+                    suggester.remove(product.getId());
+                }
+            }
+            log.info("Search index loaded {} products in {} ms", loaded, (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Search index load failed after {} products; search only covers products changed since",
+                    loaded, e);
+        } finally {
+            deletedDuringLoad = null;
+        }
+    }
+
+    /**
+     * Re-reads the product so the index holds its latest state whatever order events arrive in.
+     */
+    public void onProductUpdated(String productId) {
+        productRepository.findById(productId)
+                .ifPresentOrElse(product -> {
+                    index.put(product);
+                    suggester.put(product);
+                }, () -> onProductDeleted(productId));
+    }
+
+    public void onProductDeleted(String productId) {
+        Set<String> deleted = deletedDuringLoad;
+        if (deleted != null) {
+            deleted.add(productId);
+        }
+        index.remove(productId);
+        suggester.remove(productId);
+    }
+
+    public ProductSearchResponse search(String query, int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException(
+                    "page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        int offset = (int) Math.min((long) page * size, Integer.MAX_VALUE);
+        ProductSearchIndex.Result result = index.search(query, offset, size);
+        return ProductSearchResponse.builder()
+                .query(query)
+                .page(page)
+                .size(size)
+                .total(result.total())
+                .results(result.hits().stream()
+                        .map(hit -> productService.toProductResponse(hit.product()))
+                        .toList())
+                .build();
+    }
+
+    public List<ProductSuggestion> suggest(String prefix, int limit) {
+        if (limit < 1 || limit > ProductSuggester.MAX_SUGGESTIONS) {
+            throw new IllegalArgumentException("limit must be between 1 and " + ProductSuggester.MAX_SUGGESTIONS);
+        }
+        return suggester.suggest(prefix, limit).stream()
+                .map(suggestion -> ProductSuggestion.builder()
+                        .text(suggestion.text())
+                        .productId(suggestion.productId())
+                        .build())
+                .toList();
+    }
+}
@@ -7,19 +7,27 @@ import ax.gritlab.buy_01.product.exception.UnauthorizedException;
 import ax.gritlab.buy_01.product.model.Product;
 import ax.gritlab.buy_01.product.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import java.time.ZonedDateTime;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ProductService {
@@ -27,45 +35,20 @@ public class ProductService {
     public void deleteProductsByUserId(String userId) {
         List<Product> products = productRepository.findByUserId(userId);
         for (Product product : products) {
-            List<String> mediaIds = product.getMediaIds();
             productRepository.delete(product);
-            try {
-                ObjectNode node = objectMapper.createObjectNode();
-                node.put("id", product.getId());
-                ArrayNode arr = node.putArray("mediaIds");
-                if (mediaIds != null) {
-                    for (String m : mediaIds) arr.add(m);
-                }
-                kafkaTemplate.send("product.deleted", objectMapper.writeValueAsString(node));
-            } catch (Exception e) {
-                kafkaTemplate.send("product.deleted", product.getId());
-            }
+            publishProductDeleted(product);
         }
     }
 
     private final ProductRepository productRepository;
-    private final RestTemplate restTemplate;
+    private final MongoTemplate mongoTemplate;
+    private final MediaServiceClient mediaServiceClient;
     private final org.springframework.kafka.core.KafkaTemplate<String, String> kafkaTemplate;
     private final ObjectMapper objectMapper;
 
-    @Value("${media.service.url:http://media-service:8083/media}")
-    private String mediaServiceUrl;
-
     @Value("${media.public.url:https://localhost:8443/api/media}")
     private String mediaPublicUrl;
 
-    public List<ProductResponse> getAllProducts() {
-        return productRepository.findAll().stream()
-                .map(this::toProductResponse)
-                .collect(Collectors.toList());
-    }
-
-    public ProductResponse getProductById(String id) {
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
-        return toProductResponse(product);
-    }
-
     public ProductResponse createProduct(ProductRequest request, String userId) {
         ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
         Product product = Product.builder()
@@ -78,6 +61,7 @@ public class ProductService {
                 .updatedAt(now.toLocalDateTime())
                 .build();
         Product saved = productRepository.save(product);
+        publishProductUpdated(saved);
         return toProductResponse(saved);
     }
 
@@ -93,6 +77,7 @@ public class ProductService {
         product.setQuantity(request.getQuantity());
         product.setUpdatedAt(ZonedDateTime.now(ZoneOffset.UTC).toLocalDateTime());
         Product saved = productRepository.save(product);
+        publishProductUpdated(saved);
         return toProductResponse(saved);
     }
 
@@ -102,20 +87,8 @@ public class ProductService {
         if (!product.getUserId().equals(userId)) {
             throw new UnauthorizedException("You do not have permission to delete this product");
         }
-        List<String> mediaIds = product.getMediaIds();
         productRepository.delete(product);
-        // Publish Kafka event for product deletion
-        try {
-            ObjectNode node = objectMapper.createObjectNode();
-            node.put("id", id);
-            ArrayNode arr = node.putArray("mediaIds");
-            if (mediaIds != null) {
-                for (String m : mediaIds) arr.add(m);
-            }
-            kafkaTemplate.send("product.deleted", objectMapper.writeValueAsString(node));
-        } catch (Exception e) {
-            kafkaTemplate.send("product.deleted", id);
-        }
+        publishProductDeleted(product);
     }
 
     public ProductResponse associateMedia(String productId, String mediaId, String userId) {
@@ -126,29 +99,44 @@ public class ProductService {
         }
         product.getMediaIds().add(mediaId);
         Product saved = productRepository.save(product);
+        publishProductUpdated(productId);
 
-        // Call Media Service to update the productId in the media record
-        try {
-            String url = mediaServiceUrl + "/images/" + mediaId + "/product/" + productId + "?userId=" + userId;
-            restTemplate.put(url, null);
-        } catch (Exception e) {
-            // Log the error but don't fail the product update
-            System.err.println("Failed to update media productId: " + e.getMessage());
-        }
+        // Media Service sets productId on the media record when it consumes this event
+        publishMediaAssociated(mediaId, productId, userId);
 
         return toProductResponse(saved);
     }
 
     /**
      * Remove media ID from product's mediaIds array
-     * Called by Media Service when media is deleted
+     * Called when the seller detaches an image from the product form
      */
-    public void removeMediaFromProduct(String productId, String mediaId) {
+    public void removeMediaFromProduct(String productId, String mediaId, String userId) {
         Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new RuntimeException("Product not found"));
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
+        if (!product.getUserId().equals(userId)) {
+            throw new UnauthorizedException("You do not have permission to modify this product");
+        }
 
         product.getMediaIds().remove(mediaId);
         productRepository.save(product);
+        publishProductUpdated(productId);
+    }
+
+    /**
+     * Pull deleted media IDs from their products, one update per product in a single
+     * unordered bulk write. Called with batches of media.deleted events.
+     */
+    public void removeDeletedMedia(Map<String, Set<String>> mediaIdsByProduct) {
+        if (mediaIdsByProduct.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Product.class);
+        mediaIdsByProduct.forEach((productId, mediaIds) -> bulk.updateOne(
+                Query.query(Criteria.where("_id").is(productId)),
+                new Update().pullAll("mediaIds", mediaIds.toArray())));
+        bulk.execute();
+        mediaIdsByProduct.keySet().forEach(this::publishProductUpdated);
     }
 
     /**
@@ -164,24 +152,12 @@ public class ProductService {
 
             // Check each media ID to see if it still exists
             for (String mediaId : product.getMediaIds()) {
-                try {
-                    // Try to call media service to check if media exists
-                    String url = mediaServiceUrl + "/images/" + mediaId;
-                    restTemplate.headForHeaders(url);
-                    // If no exception, media exists
-                    validMediaIds.add(mediaId);
-                } catch (org.springframework.web.client.HttpClientErrorException e) {
-                    // Media doesn't exist (404) or forbidden (403) - remove it
-                    if (e.getStatusCode().value() == 404 || e.getStatusCode().value() == 403) {
-                        System.out.println("Removing orphaned/inaccessible media ID: " + mediaId + " from product: "
-                                + product.getId());
-                        totalCleaned++;
-                    } else {
-                        // Other error - keep the media ID
-                        validMediaIds.add(mediaId);
-                    }
-                } catch (Exception e) {
-                    // Unknown error - keep the media ID to be safe
+                // Unknown status (error, open circuit) keeps the media ID to be safe
+                if (mediaServiceClient.checkMedia(mediaId) == MediaServiceClient.MediaStatus.MISSING) {
+                    log.debug("Removing orphaned/inaccessible media ID: {} from product: {}", mediaId,
+                            product.getId());
+                    totalCleaned++;
+                } else {
                     validMediaIds.add(mediaId);
                 }
             }
@@ -191,18 +167,66 @@ public class ProductService {
                 int removedCount = product.getMediaIds().size() - validMediaIds.size();
                 product.setMediaIds(validMediaIds);
                 productRepository.save(product);
-                System.out.println(
-                        "Cleaned product: " + product.getId() + " - Removed " + removedCount + " orphaned media IDs");
+                publishProductUpdated(product.getId());
+                log.info("Cleaned product: {} - Removed {} orphaned media IDs", product.getId(), removedCount);
             }
         }
 
         return "Cleaned up " + totalCleaned + " orphaned media references from products";
     }
 
+    /**
+     * Publish a product.updated event so caches and read models can refresh.
+     * Sent for creates, updates and media changes
+     */
+    private void publishProductUpdated(String productId) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("id", productId);
+        kafkaTemplate.send("product.updated", node.toString());
+    }
+
+    /**
+     * product.updated for a create or an edit: {@code {id, userId}}. The seller summaries recount
+     * the seller's products.
+     */
+    private void publishProductUpdated(Product product) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("id", product.getId());
+        node.put("userId", product.getUserId());
+        kafkaTemplate.send("product.updated", node.toString());
+    }
+
+    /**
+     * product.deleted: {@code {id, mediaIds, userId}}. media-service deletes the listed media; the
+     * seller summaries recount the seller's products.
+     */
+    private void publishProductDeleted(Product product) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("id", product.getId());
+        ArrayNode arr = node.putArray("mediaIds");
+        if (product.getMediaIds() != null) {
+            for (String m : product.getMediaIds()) arr.add(m);
+        }
+        node.put("userId", product.getUserId());
+        kafkaTemplate.send("product.deleted", node.toString());
+    }
+
+    /**
+     * Publish a media.associated event; media-service applies it to the media record
+     */
+    private void publishMediaAssociated(String mediaId, String productId, String userId) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("mediaId", mediaId);
+        node.put("productId", productId);
+        node.put("userId", userId);
+        // Keyed by media id so events for the same media stay ordered
+        kafkaTemplate.send("media.associated", mediaId, node.toString());
+    }
+
     /**
      * Convert Product entity to ProductResponse DTO with imageUrls
      */
-    private ProductResponse toProductResponse(Product product) {
+    public ProductResponse toProductResponse(Product product) {
         // Convert mediaIds to image URLs using public URL for browser access
         List<String> imageUrls = product.getMediaIds().stream()
                 .map(mediaId -> mediaPublicUrl + "/images/" + mediaId)
@@ -0,0 +1,105 @@
+package ax.gritlab.buy_01.product.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the seller summaries current. Consumes batches of
+ * <ul>
+ * <li>product.updated {@code {id, userId}} and product.deleted {@code {id, mediaIds, userId}}
+ * (events without userId change no totals)</li>
+ * <li>media.stats {@code {userId, mediaCount, mediaBytes, at}}, or {@code {snapshotAt}} closing a
+ * periodic snapshot of all sellers</li>
+ * <li>user.deleted (the raw user id)</li>
+ * </ul>
+ * The events only say which sellers changed: their product totals are recounted and their media
+ * totals replaced, so applying a batch twice gives the same summaries as applying it once. The
+ * summaries are shared by all instances, so they share one consumer group.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SellerSummaryKafkaConsumer {
+
+    private final SellerSummaryService sellerSummaryService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * What one batch changes: sellers whose products to recount, the newest media totals per
+     * seller, the newest snapshot closed (0 if none) and the deleted sellers, none of which
+     * appear in the other fields.
+     */
+    record Changes(Set<String> productSellers, Map<String, SellerSummaryService.MediaStats> mediaStats,
+            long snapshotAt, Set<String> deletedSellers) {
+    }
+
+    @KafkaListener(topics = { "product.updated", "product.deleted", "media.stats", "user.deleted" },
+            groupId = "seller-summary", batch = "true")
+    public void consume(List<ConsumerRecord<String, String>> records) {
+        Changes changes = collect(records);
+        sellerSummaryService.recountProducts(changes.productSellers());
+        sellerSummaryService.applyMediaStats(changes.mediaStats().values());
+        // After the totals, which include the snapshot's own records when they share the batch
+        if (changes.snapshotAt() > 0) {
+            sellerSummaryService.completeMediaSnapshot(changes.snapshotAt());
+        }
+        sellerSummaryService.deleteSummaries(changes.deletedSellers());
+    }
+
+    Changes collect(List<ConsumerRecord<String, String>> records) {
+        Set<String> productSellers = new HashSet<>();
+        Map<String, SellerSummaryService.MediaStats> mediaStats = new HashMap<>();
+        long snapshotAt = 0;
+        Set<String> deletedSellers = new HashSet<>();
+        for (ConsumerRecord<String, String> record : records) {
+            String message = record.value();
+            if (message == null || message.isBlank()) {
+                continue;
+            }
+            if ("user.deleted".equals(record.topic())) {
+                deletedSellers.add(message.trim());
+                continue;
+            }
+            if (!message.trim().startsWith("{")) {
+                // Legacy product.deleted with a raw product id: the seller is unknown
+                log.debug("Skipping {} event without seller: {}", record.topic(), message);
+                continue;
+            }
+            try {
+                JsonNode node = objectMapper.readTree(message);
+                if (node.has("snapshotAt")) {
+                    snapshotAt = Math.max(snapshotAt, node.path("snapshotAt").asLong());
+                    continue;
+                }
+                String sellerId = node.path("userId").asText(null);
+                if (sellerId == null) {
+                    continue;
+                }
+                if ("media.stats".equals(record.topic())) {
+                    SellerSummaryService.MediaStats stats = new SellerSummaryService.MediaStats(sellerId,
+                            node.path("mediaCount").asLong(), node.path("mediaBytes").asLong(),
+                            node.path("at").asLong());
+                    mediaStats.merge(sellerId, stats, (a, b) -> b.at() > a.at() ? b : a);
+                } else {
+                    productSellers.add(sellerId);
+                }
+            } catch (Exception e) {
+                log.warn("Skipping unreadable {} event: {}", record.topic(), e.getMessage());
+            }
+        }
+        productSellers.removeAll(deletedSellers);
+        mediaStats.keySet().removeAll(deletedSellers);
+        return new Changes(productSellers, mediaStats, snapshotAt, deletedSellers);
+    }
+}
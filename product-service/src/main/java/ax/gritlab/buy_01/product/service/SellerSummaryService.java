@@ -0,0 +1,262 @@
+package ax.gritlab.buy_01.product.service;
+
+import ax.gritlab.buy_01.product.dto.SellerListResponse;
+import ax.gritlab.buy_01.product.dto.SellerProductsResponse;
+import ax.gritlab.buy_01.product.dto.SellerSummaryResponse;
+import ax.gritlab.buy_01.product.model.Product;
+import ax.gritlab.buy_01.product.model.SellerSummary;
+import com.mongodb.ErrorCategory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Seller dashboard reads backed by the {@link SellerSummary} read model, and the writes that keep
+ * it current for {@link SellerSummaryKafkaConsumer}.
+ * <p>
+ * Every write sets absolute values rather than applying increments, so a redelivered or repeated
+ * event cannot make the totals drift: product totals are recounted from the products collection,
+ * media totals are taken as published by media-service. {@link #reconcile()} recounts every seller
+ * periodically, which also seeds the summaries of a new database.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SellerSummaryService {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    // Sellers recounted per aggregation and bulk write
+    private static final int RECOUNT_CHUNK = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${media.public.url:https://localhost:8443/api/media}")
+    private String mediaPublicUrl;
+
+    /**
+     * A seller's media totals as published by media-service. {@code at} is media-service's clock
+     * when it counted them; it is only compared with other media-service timestamps.
+     */
+    public record MediaStats(String sellerId, long mediaCount, long mediaBytes, long at) {
+    }
+
+    /**
+     * Sets productCount and totalStock of each seller to a fresh count of their products. Only a
+     * seller with products gets a new summary, so a late event for a deleted seller is a no-op.
+     */
+    public void recountProducts(Collection<String> sellerIds) {
+        List<String> sellers = sellerIds.stream().filter(Objects::nonNull).distinct().toList();
+        for (int from = 0; from < sellers.size(); from += RECOUNT_CHUNK) {
+            List<String> chunk = sellers.subList(from, Math.min(from + RECOUNT_CHUNK, sellers.size()));
+            Map<String, Document> counts = new HashMap<>();
+            mongoTemplate.aggregate(Aggregation.newAggregation(
+                            Aggregation.match(Criteria.where("userId").in(chunk)),
+                            Aggregation.group("userId").count().as("productCount").sum("quantity").as("totalStock")),
+                    Product.class, Document.class).forEach(count -> counts.put(count.getString("_id"), count));
+
+            LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SellerSummary.class);
+            for (String sellerId : chunk) {
+                Document count = counts.get(sellerId);
+                Query query = Query.query(Criteria.where("_id").is(sellerId));
+                Update update = new Update()
+                        .set("productCount", count == null ? 0L : ((Number) count.get("productCount")).longValue())
+                        .set("totalStock", count == null ? 0L : ((Number) count.get("totalStock")).longValue())
+                        .set("updatedAt", now);
+                if (count != null) {
+                    bulk.upsert(query, update);
+                } else {
+                    bulk.updateOne(query, update);
+                }
+            }
+            bulk.execute();
+        }
+    }
+
+    /**
+     * Sets the media totals of each seller unless the summary already holds newer ones. As with
+     * products, only a seller with media gets a new summary.
+     */
+    public void applyMediaStats(Collection<MediaStats> stats) {
+        if (stats.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SellerSummary.class);
+        for (MediaStats stat : stats) {
+            Query query = Query.query(Criteria.where("_id").is(stat.sellerId())
+                    .orOperator(Criteria.where("mediaAt").lt(stat.at()), Criteria.where("mediaAt").exists(false)));
+            Update update = new Update()
+                    .set("mediaCount", stat.mediaCount())
+                    .set("mediaBytes", stat.mediaBytes())
+                    .set("mediaAt", stat.at())
+                    .set("updatedAt", now);
+            if (stat.mediaCount() > 0) {
+                bulk.upsert(query, update);
+            } else {
+                bulk.updateOne(query, update);
+            }
+        }
+        try {
+            bulk.execute();
+        } catch (BulkOperationException e) {
+            // The upsert of a summary holding newer totals fails on _id; those are meant to be skipped
+            if (e.getErrors().stream().anyMatch(error ->
+                    ErrorCategory.fromErrorCode(error.getCode()) != ErrorCategory.DUPLICATE_KEY)) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Closes a media-service snapshot taken at {@code snapshotAt}: a seller whose media totals are
+     * older was left out of it, i.e. has no media left, so the totals are zeroed.
+     */
+    public void completeMediaSnapshot(long snapshotAt) {
+        Query query = Query.query(Criteria.where("mediaAt").lt(snapshotAt)
+                .orOperator(Criteria.where("mediaCount").ne(0), Criteria.where("mediaBytes").ne(0)));
+        Update update = new Update()
+                .set("mediaCount", 0L)
+                .set("mediaBytes", 0L)
+                .set("mediaAt", snapshotAt)
+                .set("updatedAt", LocalDateTime.now(ZoneOffset.UTC));
+        mongoTemplate.updateMulti(query, update, SellerSummary.class);
+    }
+
+    public void deleteSummaries(Collection<String> sellerIds) {
+        if (!sellerIds.isEmpty()) {
+            mongoTemplate.remove(Query.query(Criteria.where("_id").in(sellerIds)), SellerSummary.class);
+        }
+    }
+
+    /**
+     * Recounts the products of every seller that has products or a summary still counting some,
+     * then drops the summaries left empty. Runs shortly after startup, which seeds a new database,
+     * and then periodically, which repairs a summary left behind by a lost event or by two
+     * recounts racing. Media totals are repaired by media-service's periodic snapshot.
+     */
+    @Scheduled(initialDelayString = "${seller-summary.reconcile-initial-delay:PT10S}",
+            fixedDelayString = "${seller-summary.reconcile-interval:PT15M}")
+    public void reconcile() {
+        Set<String> sellers = new HashSet<>(
+                mongoTemplate.findDistinct(new Query(), "userId", Product.class, String.class));
+        Query counting = Query.query(Criteria.where("productCount").ne(0));
+        counting.fields().include("_id");
+        mongoTemplate.find(counting, SellerSummary.class).forEach(summary -> sellers.add(summary.getId()));
+        recountProducts(new ArrayList<>(sellers));
+        mongoTemplate.remove(Query.query(Criteria.where("productCount").is(0).and("mediaCount").is(0)),
+                SellerSummary.class);
+        log.info("Seller summaries reconciled for {} sellers", sellers.size());
+    }
+
+    public SellerSummaryResponse getSummary(String sellerId) {
+        SellerSummary summary = mongoTemplate.findById(sellerId, SellerSummary.class);
+        if (summary == null) {
+            // Nothing listed or uploaded yet
+            return SellerSummaryResponse.builder().sellerId(sellerId).build();
+        }
+        return SellerSummaryResponse.builder()
+                .sellerId(sellerId)
+                .productCount(summary.getProductCount())
+                .totalStock(summary.getTotalStock())
+                .mediaCount(summary.getMediaCount())
+                .mediaBytes(summary.getMediaBytes())
+                .updatedAt(timestamp(summary.getUpdatedAt()))
+                .build();
+    }
+
+    /**
+     * Sellers with at least one product, most products first. Only the public fields are read.
+     */
+    public SellerListResponse listSellers(int page, int size) {
+        validatePage(page, size);
+        Criteria withProducts = Criteria.where("productCount").gt(0);
+        Query query = Query.query(withProducts)
+                .with(Sort.by(Sort.Order.desc("productCount"), Sort.Order.asc("_id")))
+                .skip((long) page * size)
+                .limit(size);
+        query.fields().include("productCount", "updatedAt");
+        List<SellerListResponse.Seller> sellers = mongoTemplate.find(query, SellerSummary.class).stream()
+                .map(summary -> SellerListResponse.Seller.builder()
+                        .sellerId(summary.getId())
+                        .productCount(summary.getProductCount())
+                        .updatedAt(timestamp(summary.getUpdatedAt()))
+                        .build())
+                .toList();
+        return SellerListResponse.builder()
+                .page(page)
+                .size(size)
+                .total(mongoTemplate.count(Query.query(withProducts), SellerSummary.class))
+                .results(sellers)
+                .build();
+    }
+
+    /**
+     * One page of a seller's products, newest first, reading only the columns the dashboard shows.
+     * The total comes from the seller's summary instead of a count over the products.
+     */
+    public SellerProductsResponse listSellerProducts(String sellerId, int page, int size) {
+        validatePage(page, size);
+        long offset = (long) page * size;
+        Query query = Query.query(Criteria.where("userId").is(sellerId))
+                .with(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("_id")))
+                .skip(offset)
+                .limit(size);
+        query.fields().include("name", "price", "quantity", "updatedAt").slice("mediaIds", 1);
+        List<SellerProductsResponse.Item> items = mongoTemplate.find(query, Product.class).stream()
+                .map(product -> SellerProductsResponse.Item.builder()
+                        .id(product.getId())
+                        .name(product.getName())
+                        .price(product.getPrice())
+                        .stock(product.getQuantity())
+                        .imageUrl(product.getMediaIds() == null || product.getMediaIds().isEmpty() ? null
+                                : mediaPublicUrl + "/images/" + product.getMediaIds().get(0))
+                        .updatedAt(timestamp(product.getUpdatedAt()))
+                        .build())
+                .toList();
+
+        SellerSummary summary = mongoTemplate.findById(sellerId, SellerSummary.class);
+        long total = summary == null ? 0 : summary.getProductCount();
+        return SellerProductsResponse.builder()
+                .sellerId(sellerId)
+                .page(page)
+                .size(size)
+                // The summary may lag the products by a few events; never report fewer than shown
+                .total(Math.max(total, items.isEmpty() ? 0 : offset + items.size()))
+                .results(items)
+                .build();
+    }
+
+    private static void validatePage(int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    private static String timestamp(LocalDateTime time) {
+        return time != null ? time.atZone(ZoneOffset.UTC).toString() : null;
+    }
+}
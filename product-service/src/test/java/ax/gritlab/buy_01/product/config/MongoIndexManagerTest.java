@@ -0,0 +1,23 @@
+package ax.gritlab.buy_01.product.config;
+
+import ax.gritlab.buy_01.common.mongo.MongoIndexManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MongoIndexManagerTest {
+
+    @Test
+    public void testRegisteredQueryShapesAreServedByDeclaredIndexes() {
+        // Java time types are simple values, as in the mapping context Spring Boot configures
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+        MongoIndexManager manager = new MongoConfig().mongoIndexManager(null, mappingContext);
+
+        assertEquals(List.of(), manager.unservedQueryShapes());
+    }
+}
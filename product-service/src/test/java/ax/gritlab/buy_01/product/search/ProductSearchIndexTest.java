@@ -0,0 +1,71 @@
+package ax.gritlab.buy_01.product.search;
+
+import ax.gritlab.buy_01.product.model.Product;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProductSearchIndexTest {
+
+    private final ProductSearchIndex index = new ProductSearchIndex();
+
+    private static Product product(String id, String name, String description) {
+        return Product.builder().id(id).name(name).description(description).build();
+    }
+
+    private List<String> ids(ProductSearchIndex.Result result) {
+        return result.hits().stream().map(hit -> hit.product().getId()).toList();
+    }
+
+    @Test
+    public void testNameMatchesRankAboveDescriptionMatches() {
+        index.put(product("1", "Leather bag", "Handmade from Swedish leather, fits a laptop"));
+        index.put(product("2", "Laptop stand", "Aluminium"));
+        index.put(product("3", "Desk lamp", "Warm light"));
+
+        ProductSearchIndex.Result result = index.search("Laptop", 0, 10);
+
+        assertEquals(2, result.total());
+        assertEquals(List.of("2", "1"), ids(result));
+    }
+
+    @Test
+    public void testPrefixAndDiacriticsMatching() {
+        index.put(product("1", "Café table", null));
+        index.put(product("2", "Cafetière", "French press"));
+
+        assertEquals(List.of("1"), ids(index.search("cafe", 0, 10)).subList(0, 1));
+        assertEquals(2, index.search("caf", 0, 10).total());
+        assertEquals(List.of("2"), ids(index.search("FRENCH pre", 0, 10)));
+        assertEquals(0, index.search("  ,. ", 0, 10).total());
+    }
+
+    @Test
+    public void testUpdatesReplaceAndRemoveDropPostings() {
+        index.put(product("1", "Red chair", null));
+        index.put(product("1", "Blue chair", null));
+
+        assertEquals(0, index.search("red", 0, 10).total());
+        assertEquals(List.of("1"), ids(index.search("blue", 0, 10)));
+        assertFalse(index.putIfAbsent(product("1", "Red chair", null)));
+
+        index.remove("1");
+        assertEquals(0, index.size());
+        assertEquals(0, index.termCount());
+    }
+
+    @Test
+    public void testPagination() {
+        for (int i = 0; i < 25; i++) {
+            index.put(product(String.format("%02d", i), "Mug " + i, null));
+        }
+
+        ProductSearchIndex.Result second = index.search("mug", 10, 10);
+        assertEquals(25, second.total());
+        assertEquals(10, second.hits().size());
+        assertEquals(5, index.search("mug", 20, 10).hits().size());
+        assertTrue(index.search("mug", 30, 10).hits().isEmpty());
+    }
+}
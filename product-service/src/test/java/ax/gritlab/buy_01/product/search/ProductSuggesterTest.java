@@ -0,0 +1,101 @@
+package ax.gritlab.buy_01.product.search;
+
+import ax.gritlab.buy_01.product.model.Product;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProductSuggesterTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private static Product product(String id, String name, int minutes) {
+        return Product.builder().id(id).name(name).createdAt(T0.plusMinutes(minutes)).build();
+    }
+
+    private static List<String> texts(List<ProductSuggester.Suggestion> suggestions) {
+        return suggestions.stream().map(ProductSuggester.Suggestion::text).toList();
+    }
+
+    @Test
+    public void testWordStartsMatchNewestFirst() {
+        ProductSuggester suggester = new ProductSuggester(100);
+        suggester.put(product("1", "Office chair", 1));
+        suggester.put(product("2", "Chair cushion", 2));
+        suggester.put(product("3", "Armchair", 3));
+
+        assertEquals(List.of("Chair cushion", "Office chair"), texts(suggester.suggest("CHA", 10)));
+        assertEquals(List.of("Office chair"), texts(suggester.suggest("office ch", 10)));
+        assertEquals(List.of("Chair cushion"), texts(suggester.suggest("ch", 1)));
+        assertTrue(suggester.suggest("table", 10).isEmpty());
+    }
+
+    @Test
+    public void testSameNameIsOneSuggestionPointingToNewestProduct() {
+        ProductSuggester suggester = new ProductSuggester(100);
+        suggester.put(product("1", "Desk lamp", 1));
+        suggester.put(product("2", "desk  LAMP", 5));
+
+        assertEquals(List.of(new ProductSuggester.Suggestion("Desk lamp", "2")), suggester.suggest("lamp", 10));
+
+        suggester.remove("2");
+        assertEquals(List.of(new ProductSuggester.Suggestion("Desk lamp", "1")), suggester.suggest("lamp", 10));
+    }
+
+    @Test
+    public void testRenameAndRemove() {
+        ProductSuggester suggester = new ProductSuggester(100);
+        suggester.put(product("1", "Red chair", 1));
+        suggester.put(product("1", "Blue chair", 1));
+
+        assertTrue(suggester.suggest("red", 10).isEmpty());
+        assertEquals(List.of("Blue chair"), texts(suggester.suggest("chair", 10)));
+
+        suggester.remove("1");
+        assertEquals(0, suggester.size());
+        assertTrue(suggester.suggest("b", 10).isEmpty());
+    }
+
+    @Test
+    public void testOldestNamesDroppedBeyondBudget() {
+        ProductSuggester suggester = new ProductSuggester(2);
+        suggester.put(product("1", "Mug", 1));
+        suggester.put(product("2", "Mat", 2));
+        suggester.put(product("3", "Map", 3));
+
+        assertEquals(2, suggester.size());
+        assertEquals(List.of("Map", "Mat"), texts(suggester.suggest("m", 10)));
+    }
+
+    @Test
+    public void testPrefixLongerThanTrieDepth() {
+        ProductSuggester suggester = new ProductSuggester(100);
+        suggester.put(product("1", "Extraordinarily comfortable ergonomic chair", 1));
+        suggester.put(product("2", "Extraordinarily comfortable ergonomic stool", 2));
+
+        assertEquals(List.of("Extraordinarily comfortable ergonomic chair"),
+                texts(suggester.suggest("extraordinarily comfortable ergonomic ch", 10)));
+    }
+
+    @Test
+    public void testLongPrefixFindsMatchesOutsideTheTopNames() {
+        ProductSuggester suggester = new ProductSuggester(100);
+        // All share the same first 32 characters; the only chair is older than the stools
+        suggester.put(product("chair", "Extraordinarily comfortable ergonomic chair", 1));
+        for (int i = 1; i <= ProductSuggester.MAX_SUGGESTIONS + 2; i++) {
+            suggester.put(product("stool" + i, "Extraordinarily comfortable ergonomic stool " + i, 1 + i));
+        }
+        suggester.put(product("chair2", "Extraordinarily comfortable ergonomic chair XL", 0));
+
+        assertEquals(List.of(
+                        new ProductSuggester.Suggestion("Extraordinarily comfortable ergonomic chair", "chair"),
+                        new ProductSuggester.Suggestion("Extraordinarily comfortable ergonomic chair XL", "chair2")),
+                suggester.suggest("extraordinarily comfortable ergonomic ch", 10));
+        assertEquals(1, suggester.suggest("extraordinarily comfortable ergonomic ch", 1).size());
+        assertEquals(ProductSuggester.MAX_SUGGESTIONS,
+                suggester.suggest("extraordinarily comfortable ergonomic stool", 10).size());
+    }
+}
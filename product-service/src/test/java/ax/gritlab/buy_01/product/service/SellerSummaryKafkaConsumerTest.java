@@ -0,0 +1,86 @@
+package ax.gritlab.buy_01.product.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SellerSummaryKafkaConsumerTest {
+
+    private final SellerSummaryKafkaConsumer consumer = new SellerSummaryKafkaConsumer(null, new ObjectMapper());
+
+    @Test
+    public void testProductEventsNameTheSellersToRecount() {
+        SellerSummaryKafkaConsumer.Changes changes = consumer.collect(List.of(
+                record("product.updated", "{\"id\":\"p1\",\"userId\":\"s1\"}"),
+                record("product.updated", "{\"id\":\"p1\",\"userId\":\"s1\"}"),
+                record("product.deleted", "{\"id\":\"p2\",\"mediaIds\":[],\"userId\":\"s2\"}")));
+
+        assertEquals(Set.of("s1", "s2"), changes.productSellers());
+        assertTrue(changes.mediaStats().isEmpty());
+        assertEquals(0, changes.snapshotAt());
+    }
+
+    @Test
+    public void testRedeliveredBatchCollectsTheSameChanges() {
+        List<ConsumerRecord<String, String>> batch = List.of(
+                record("product.updated", "{\"id\":\"p1\",\"userId\":\"s1\"}"),
+                record("media.stats", "{\"userId\":\"s1\",\"mediaCount\":2,\"mediaBytes\":300,\"at\":10}"));
+
+        assertEquals(consumer.collect(batch), consumer.collect(List.of(batch.get(0), batch.get(1), batch.get(0),
+                batch.get(1))));
+    }
+
+    @Test
+    public void testNewestMediaStatsWinWhateverTheirOrder() {
+        SellerSummaryKafkaConsumer.Changes changes = consumer.collect(List.of(
+                record("media.stats", "{\"userId\":\"s1\",\"mediaCount\":3,\"mediaBytes\":30,\"at\":20}"),
+                record("media.stats", "{\"userId\":\"s1\",\"mediaCount\":1,\"mediaBytes\":10,\"at\":10}")));
+
+        assertEquals(new SellerSummaryService.MediaStats("s1", 3, 30, 20), changes.mediaStats().get("s1"));
+    }
+
+    @Test
+    public void testNewestSnapshotMarkerIsKept() {
+        SellerSummaryKafkaConsumer.Changes changes = consumer.collect(List.of(
+                record("media.stats", "{\"snapshotAt\":200}"),
+                record("media.stats", "{\"snapshotAt\":100}")));
+
+        assertEquals(200, changes.snapshotAt());
+        assertTrue(changes.mediaStats().isEmpty());
+    }
+
+    @Test
+    public void testDeletedSellerIsOnlyDeleted() {
+        SellerSummaryKafkaConsumer.Changes changes = consumer.collect(List.of(
+                record("product.updated", "{\"id\":\"p1\",\"userId\":\"s1\"}"),
+                record("media.stats", "{\"userId\":\"s1\",\"mediaCount\":1,\"mediaBytes\":10,\"at\":10}"),
+                record("user.deleted", "s1")));
+
+        assertEquals(Set.of("s1"), changes.deletedSellers());
+        assertTrue(changes.productSellers().isEmpty());
+        assertTrue(changes.mediaStats().isEmpty());
+    }
+
+    @Test
+    public void testEventsWithoutSellerAreSkipped() {
+        SellerSummaryKafkaConsumer.Changes changes = consumer.collect(List.of(
+                // Legacy raw id, media change on a product, unreadable, empty
+                record("product.deleted", "p1"),
+                record("product.updated", "{\"id\":\"p1\"}"),
+                record("product.updated", "{\"id\":"),
+                record("product.updated", " "),
+                record("product.updated", "{\"id\":\"p2\",\"userId\":\"s2\"}")));
+
+        assertEquals(Set.of("s2"), changes.productSellers());
+        assertTrue(changes.deletedSellers().isEmpty());
+    }
+
+    private static ConsumerRecord<String, String> record(String topic, String value) {
+        return new ConsumerRecord<>(topic, 0, 0, null, value);
+    }
+}
@@ -33,6 +33,14 @@ echo -e "${YELLOW}[1/7] Checking MongoDB...${NC}"
 echo -e "${GREEN}✓ MongoDB is running${NC}"
 echo ""
 
+# The services resolve the shared common module from the local repository
+echo -e "${YELLOW}Installing common module...${NC}"
+(cd "$PROJECT_ROOT" && mvn -q install -pl common -am -DskipTests)
+echo ""
+
+# Reports virtual threads pinned to their carrier (only relevant with VIRTUAL_THREADS_ENABLED=true)
+SERVICE_JVM_ARGS="-Djdk.tracePinnedThreads=short"
+
 # Start Service Registry (Eureka)
 echo -e "${YELLOW}[2/7] Starting Service Registry (Eureka)...${NC}"
 cd "$PROJECT_ROOT/service-registry"
@@ -51,7 +59,7 @@ echo ""
 # Start User Service
 echo -e "${YELLOW}[3/7] Starting User Service...${NC}"
 cd "$PROJECT_ROOT/user-service"
-mvn spring-boot:run > "$PROJECT_ROOT/logs/user-service.log" 2>&1 &
+mvn spring-boot:run -Dspring-boot.run.jvmArguments="$SERVICE_JVM_ARGS" > "$PROJECT_ROOT/logs/user-service.log" 2>&1 &
 USER_SERVICE_PID=$!
 echo "$USER_SERVICE_PID" > "$PROJECT_ROOT/pids/user-service.pid"
 echo -e "${GREEN}✓ User Service started (PID: $USER_SERVICE_PID)${NC}"
@@ -61,7 +69,7 @@ echo ""
 # Start Product Service
 echo -e "${YELLOW}[4/7] Starting Product Service...${NC}"
 cd "$PROJECT_ROOT/product-service"
-mvn spring-boot:run > "$PROJECT_ROOT/logs/product-service.log" 2>&1 &
+mvn spring-boot:run -Dspring-boot.run.jvmArguments="$SERVICE_JVM_ARGS" > "$PROJECT_ROOT/logs/product-service.log" 2>&1 &
 PRODUCT_SERVICE_PID=$!
 echo "$PRODUCT_SERVICE_PID" > "$PROJECT_ROOT/pids/product-service.pid"
 echo -e "${GREEN}✓ Product Service started (PID: $PRODUCT_SERVICE_PID)${NC}"
@@ -71,7 +79,7 @@ echo ""
 # Start Media Service
 echo -e "${YELLOW}[5/7] Starting Media Service...${NC}"
 cd "$PROJECT_ROOT/media-service"
-mvn spring-boot:run > "$PROJECT_ROOT/logs/media-service.log" 2>&1 &
+mvn spring-boot:run -Dspring-boot.run.jvmArguments="$SERVICE_JVM_ARGS" > "$PROJECT_ROOT/logs/media-service.log" 2>&1 &
 MEDIA_SERVICE_PID=$!
 echo "$MEDIA_SERVICE_PID" > "$PROJECT_ROOT/pids/media-service.pid"
 echo -e "${GREEN}✓ Media Service started (PID: $MEDIA_SERVICE_PID)${NC}"
@@ -21,6 +21,9 @@ fi
 $MVN_CMD clean install -DskipTests
 echo "--- Build complete ---"
 
+# Reports virtual threads pinned to their carrier (only relevant with VIRTUAL_THREADS_ENABLED=true)
+SERVICE_JAVA_OPTS="-Djdk.tracePinnedThreads=short"
+
 # Create a file to store PIDs for the stop script
 PID_FILE=".pids"
 > "$PID_FILE"
@@ -32,15 +35,15 @@ echo "Service Registry starting in background. Waiting 5 seconds for it to initi
 sleep 5
 
 echo "--- Starting User Service ---"
-nohup java -jar user-service/target/user-service-*.jar > user-service.log 2>&1 &
+nohup java $SERVICE_JAVA_OPTS -jar user-service/target/user-service-*-exec.jar > user-service.log 2>&1 &
 echo $! >> "$PID_FILE"
 
 echo "--- Starting Product Service ---"
-nohup java -jar product-service/target/product-service-*.jar > product-service.log 2>&1 &
+nohup java $SERVICE_JAVA_OPTS -jar product-service/target/product-service-*-exec.jar > product-service.log 2>&1 &
 echo $! >> "$PID_FILE"
 
 echo "--- Starting Media Service ---"
-nohup java -jar media-service/target/media-service-*.jar > media-service.log 2>&1 &
+nohup java $SERVICE_JAVA_OPTS -jar media-service/target/media-service-*-exec.jar > media-service.log 2>&1 &
 echo $! >> "$PID_FILE"
 
 # Wait a few seconds for services to register with Eureka
@@ -22,6 +22,8 @@ echo ""
 
 # Build all Spring Boot microservices JARs
 echo -e "${YELLOW}Building all microservices...${NC}"
+echo -e "${BLUE}--- Installing common ---${NC}"
+mvn clean install -pl common -am -DskipTests
 for service in service-registry user-service product-service media-service api-gateway; do
   echo -e "${BLUE}--- Building $service ---${NC}"
   (cd $service && mvn clean package -DskipTests)
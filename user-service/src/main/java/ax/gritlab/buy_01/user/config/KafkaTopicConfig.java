@@ -14,4 +14,12 @@ public class KafkaTopicConfig {
             .replicas(1)
             .build();
    }
+
+   @Bean
+   public NewTopic userUpdatedTopic() {
+      return TopicBuilder.name("user.updated")
+            .partitions(1)
+            .replicas(1)
+            .build();
+   }
 }
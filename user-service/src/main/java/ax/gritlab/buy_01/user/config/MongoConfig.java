@@ -1,26 +1,24 @@
 package ax.gritlab.buy_01.user.config;
 
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.data.mongodb.core.index.IndexOperations;
-import org.springframework.data.mongodb.core.index.IndexResolver;
-import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
 import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
 import org.springframework.data.mongodb.core.MongoTemplate;
-import jakarta.annotation.PostConstruct;
-import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.query.Query;
+import ax.gritlab.buy_01.common.mongo.MongoIndexManager;
 import ax.gritlab.buy_01.user.model.User;
 
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
 @Configuration
-@RequiredArgsConstructor
 public class MongoConfig {
 
-    private final MongoTemplate mongoTemplate;
-    private final MongoMappingContext mongoMappingContext;
-
-    @PostConstruct
-    public void initIndexes() {
-        IndexOperations indexOps = mongoTemplate.indexOps(User.class);
-        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mongoMappingContext);
-        resolver.resolveIndexFor(User.class).forEach(indexOps::ensureIndex);
+    @Bean
+    public MongoIndexManager mongoIndexManager(MongoTemplate mongoTemplate, MongoMappingContext mongoMappingContext) {
+        return new MongoIndexManager(mongoTemplate, mongoMappingContext, List.of(User.class), List.of(
+                new MongoIndexManager.QueryShape("user by email", User.class,
+                        Query.query(where("email").is("someone@example.com")))));
     }
 }
@@ -1,6 +1,7 @@
 package ax.gritlab.buy_01.user.config;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -27,10 +28,13 @@ public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Excepti
             .csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(auth -> auth
                     // Public endpoints (Login, Register, Health checks)
-                    .requestMatchers("/auth/**", "/actuator/**").permitAll()
+                    .requestMatchers("/auth/**").permitAll()
+                    // Actuator is only served on the internal management port
+                    .requestMatchers(EndpointRequest.toAnyEndpoint()).permitAll()
                     
                     // Allow anyone to VIEW user profiles
                     .requestMatchers(HttpMethod.GET, "/users/**").permitAll()  // GET WILDCARD
+                    .requestMatchers(HttpMethod.POST, "/users/batch").permitAll()  // Batch seller lookup
                     
                     // Protected endpoints - require authentication
                     .requestMatchers(HttpMethod.PUT, "/users/**").authenticated()
@@ -1,14 +1,18 @@
 package ax.gritlab.buy_01.user.controller;
 
+import ax.gritlab.buy_01.user.dto.BatchUserRequest;
 import ax.gritlab.buy_01.user.dto.UpdateProfileRequest;
 import ax.gritlab.buy_01.user.dto.UserProfileResponse;
 import ax.gritlab.buy_01.user.model.User;
 import ax.gritlab.buy_01.user.service.UserService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/users")
 @RequiredArgsConstructor
@@ -29,6 +33,12 @@ public class UserController {
         return ResponseEntity.ok(userService.getUserById(id));
     }
 
+    // Get many users by ID in one call (public - for seller cards on product grids)
+    @PostMapping("/batch")
+    public ResponseEntity<List<UserProfileResponse>> getUsersByIds(@Valid @RequestBody BatchUserRequest request) {
+        return ResponseEntity.ok(userService.getUsersByIds(request.getIds()));
+    }
+
     // Update current user's profile
     @PutMapping("/me")
     public ResponseEntity<UserProfileResponse> updateMyProfile(
@@ -0,0 +1,21 @@
+package ax.gritlab.buy_01.user.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchUserRequest {
+
+    @NotEmpty(message = "At least one user id is required")
+    @Size(max = 100, message = "At most 100 user ids can be requested at once")
+    private List<String> ids;
+}
@@ -0,0 +1,26 @@
+package ax.gritlab.buy_01.user.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Read model over the "users" collection holding only the publicly visible fields.
+// Loaded through projection queries so the password hash never leaves MongoDB.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PublicUserProfile {
+
+    private String id;
+    private String name;
+    private String email;
+    private Role role;
+    private String avatar;
+
+    // The public fields of an already loaded user
+    public static PublicUserProfile from(User user) {
+        return new PublicUserProfile(user.getId(), user.getName(), user.getEmail(), user.getRole(), user.getAvatar());
+    }
+}
@@ -33,7 +33,7 @@ public class User implements UserDetails {
 
     @NotNull
     @Email(regexp = "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$", message = "Invalid email format")
-    @Indexed(unique = true)
+    @Indexed(unique = true, background = true)
     private String email;
 
     @NotNull
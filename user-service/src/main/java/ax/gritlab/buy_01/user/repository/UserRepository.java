@@ -1,10 +1,21 @@
 package ax.gritlab.buy_01.user.repository;
 
+import ax.gritlab.buy_01.user.model.PublicUserProfile;
 import ax.gritlab.buy_01.user.model.User;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends MongoRepository<User, String> {
     Optional<User> findByEmail(String email);
-}
\ No newline at end of file
+
+    // Projection queries for public profiles: only the fields shown to other users are read
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'name': 1, 'email': 1, 'role': 1, 'avatar': 1 }")
+    Optional<PublicUserProfile> findPublicProfileById(String id);
+
+    @Query(value = "{ '_id': { '$in': ?0 } }", fields = "{ 'name': 1, 'email': 1, 'role': 1, 'avatar': 1 }")
+    List<PublicUserProfile> findPublicProfilesByIdIn(Collection<String> ids);
+}
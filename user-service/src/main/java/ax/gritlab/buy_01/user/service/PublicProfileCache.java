@@ -0,0 +1,98 @@
+package ax.gritlab.buy_01.user.service;
+
+import ax.gritlab.buy_01.user.dto.UserProfileResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Small in-memory LRU cache of public seller profiles.
+ * Entries expire after a short TTL and are evicted explicitly when a profile
+ * is updated or deleted, so seller cards never show stale data for long.
+ * <p>
+ * A reader that misses takes a {@link #generation()} stamp before loading and
+ * fills with {@link #put(UserProfileResponse, long)}; the fill is dropped if
+ * any eviction happened in between, so a load that raced an update or delete
+ * cannot put the old profile back for a full TTL. Evictions on other instances
+ * arrive through the user.updated and user.deleted events
+ * ({@link PublicProfileCacheInvalidationListener}); until an instance has
+ * consumed the event it may serve the previous profile, and if the event is
+ * lost the entry is stale for at most the TTL.
+ */
+@Component
+public class PublicProfileCache {
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Map<String, CachedProfile> entries;
+    private long generation;
+
+    public PublicProfileCache(
+            @Value("${user.profile-cache.max-entries:10000}") int maxEntries,
+            @Value("${user.profile-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedProfile> eldest) {
+                return size() > PublicProfileCache.this.maxEntries;
+            }
+        };
+    }
+
+    public synchronized UserProfileResponse get(String id) {
+        CachedProfile entry = entries.get(id);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt < System.currentTimeMillis()) {
+            entries.remove(id);
+            return null;
+        }
+        return entry.profile;
+    }
+
+    // Returns the cached profiles for the given ids; ids that miss are simply absent from the result
+    public synchronized Map<String, UserProfileResponse> getAll(Collection<String> ids) {
+        Map<String, UserProfileResponse> hits = new HashMap<>();
+        long now = System.currentTimeMillis();
+        for (String id : ids) {
+            CachedProfile entry = entries.get(id);
+            if (entry == null) {
+                continue;
+            }
+            if (entry.expiresAt < now) {
+                entries.remove(id);
+            } else {
+                hits.put(id, entry.profile);
+            }
+        }
+        return hits;
+    }
+
+    // Stamp to take before loading a profile from the database
+    public synchronized long generation() {
+        return generation;
+    }
+
+    // Caches a profile loaded after taking the given stamp, unless an eviction has happened since
+    public synchronized boolean put(UserProfileResponse profile, long loadedAt) {
+        if (maxEntries <= 0 || profile == null || profile.getId() == null || loadedAt != generation) {
+            return false;
+        }
+        entries.put(profile.getId(), new CachedProfile(profile, System.currentTimeMillis() + ttlMillis));
+        return true;
+    }
+
+    public synchronized void evict(String id) {
+        entries.remove(id);
+        generation++;
+    }
+
+    private record CachedProfile(UserProfileResponse profile, long expiresAt) {
+    }
+}
@@ -0,0 +1,26 @@
+package ax.gritlab.buy_01.user.service;
+
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts cached public profiles when any user-service instance updates or deletes a user.
+ * Every instance uses its own consumer group so each one sees every event.
+ */
+@Component
+public class PublicProfileCacheInvalidationListener {
+
+    private final PublicProfileCache publicProfileCache;
+
+    public PublicProfileCacheInvalidationListener(PublicProfileCache publicProfileCache) {
+        this.publicProfileCache = publicProfileCache;
+    }
+
+    @KafkaListener(topics = { "user.updated", "user.deleted" },
+            groupId = "user-service-profile-cache-${random.uuid}")
+    public void onUserChanged(String userId) {
+        if (userId != null && !userId.isBlank()) {
+            publicProfileCache.evict(userId.trim());
+        }
+    }
+}
@@ -2,6 +2,7 @@ package ax.gritlab.buy_01.user.service;
 
 import ax.gritlab.buy_01.user.dto.UpdateProfileRequest;
 import ax.gritlab.buy_01.user.dto.UserProfileResponse;
+import ax.gritlab.buy_01.user.model.PublicUserProfile;
 import ax.gritlab.buy_01.user.model.User;
 import ax.gritlab.buy_01.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -9,6 +10,12 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.kafka.core.KafkaTemplate;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 @Service
 @RequiredArgsConstructor
 public class UserService {
@@ -16,8 +23,14 @@ public class UserService {
     private final KafkaTemplate<String, String> kafkaTemplate;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PublicProfileCache publicProfileCache;
 
+    // A user's own profile shows the same fields as the public one
     public UserProfileResponse getProfile(User user) {
+        return getPublicProfile(PublicUserProfile.from(user));
+    }
+
+    public UserProfileResponse getPublicProfile(PublicUserProfile user) {
         return UserProfileResponse.builder()
                 .id(user.getId())
                 .name(user.getName())
@@ -29,9 +42,47 @@ public class UserService {
 
     // NEW: Get user by ID (for viewing seller profiles)
     public UserProfileResponse getUserById(String id) {
-        User user = userRepository.findById(id)
+        UserProfileResponse cached = publicProfileCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = publicProfileCache.generation();
+        PublicUserProfile user = userRepository.findPublicProfileById(id)
                 .orElseThrow(() -> new RuntimeException("User not found"));
-        return getProfile(user);
+        UserProfileResponse profile = getPublicProfile(user);
+        publicProfileCache.put(profile, generation);
+        return profile;
+    }
+
+    // Get many public profiles at once (seller cards on a product grid).
+    // Cached profiles are served from memory, the rest come from a single $in query.
+    // Unknown ids are skipped; results follow the order of the requested ids.
+    public List<UserProfileResponse> getUsersByIds(List<String> ids) {
+        Set<String> uniqueIds = new LinkedHashSet<>(ids);
+        uniqueIds.remove(null);
+
+        Map<String, UserProfileResponse> profiles = publicProfileCache.getAll(uniqueIds);
+        List<String> missing = uniqueIds.stream()
+                .filter(id -> !profiles.containsKey(id))
+                .toList();
+
+        if (!missing.isEmpty()) {
+            long generation = publicProfileCache.generation();
+            for (PublicUserProfile user : userRepository.findPublicProfilesByIdIn(missing)) {
+                UserProfileResponse profile = getPublicProfile(user);
+                publicProfileCache.put(profile, generation);
+                profiles.put(profile.getId(), profile);
+            }
+        }
+
+        List<UserProfileResponse> result = new ArrayList<>(profiles.size());
+        for (String id : uniqueIds) {
+            UserProfileResponse profile = profiles.get(id);
+            if (profile != null) {
+                result.add(profile);
+            }
+        }
+        return result;
     }
 
     public UserProfileResponse updateProfile(User user, UpdateProfileRequest request) {
@@ -62,11 +113,15 @@ public class UserService {
         }
 
         User updatedUser = userRepository.save(user);
+        publicProfileCache.evict(updatedUser.getId());
+        // Other instances drop their cached copy when they see the event
+        kafkaTemplate.send("user.updated", updatedUser.getId());
         return getProfile(updatedUser);
     }
 
     public void deleteUser(User user) {
         userRepository.delete(user);
+        publicProfileCache.evict(user.getId());
         // Publish Kafka event for user deletion
         kafkaTemplate.send("user.deleted", user.getId());
     }
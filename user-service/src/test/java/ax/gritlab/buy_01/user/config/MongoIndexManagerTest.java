@@ -0,0 +1,51 @@
+package ax.gritlab.buy_01.user.config;
+
+import ax.gritlab.buy_01.common.mongo.MongoIndexManager;
+import ax.gritlab.buy_01.user.model.User;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class MongoIndexManagerTest {
+
+    private static MongoMappingContext mappingContext() {
+        // Java time types are simple values, as in the mapping context Spring Boot configures
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+        return mappingContext;
+    }
+
+    @Test
+    public void testRegisteredQueryShapesAreServedByDeclaredIndexes() {
+        MongoIndexManager manager = new MongoConfig().mongoIndexManager(null, mappingContext());
+
+        assertEquals(List.of(), manager.unservedQueryShapes());
+    }
+
+    @Test
+    public void testUniqueEmailIndexIsBuiltBeforeStartup() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        IndexOperations indexOps = mock(IndexOperations.class);
+        when(mongoTemplate.indexOps(User.class)).thenReturn(indexOps);
+        MongoIndexManager manager = new MongoConfig().mongoIndexManager(mongoTemplate, mappingContext());
+
+        manager.ensureUniqueIndexes();
+
+        ArgumentCaptor<IndexDefinition> index = ArgumentCaptor.forClass(IndexDefinition.class);
+        verify(indexOps).createIndex(index.capture());
+        assertEquals(new Document("email", 1), index.getValue().getIndexKeys());
+        assertEquals(Boolean.TRUE, index.getValue().getIndexOptions().get("unique"));
+    }
+}
@@ -0,0 +1,65 @@
+package ax.gritlab.buy_01.user.controller;
+
+import ax.gritlab.buy_01.user.exception.GlobalExceptionHandler;
+import ax.gritlab.buy_01.user.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class UserControllerTest {
+
+    private final UserService userService = mock(UserService.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        LocalValidatorFactoryBean validator = new LocalValidatorFactoryBean();
+        validator.afterPropertiesSet();
+        mockMvc = MockMvcBuilders.standaloneSetup(new UserController(userService))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .setValidator(validator)
+                .build();
+    }
+
+    @Test
+    public void testBatchOfOneHundredIdsIsAccepted() throws Exception {
+        when(userService.getUsersByIds(anyList())).thenReturn(List.of());
+
+        mockMvc.perform(post("/users/batch").contentType(MediaType.APPLICATION_JSON).content(batch(100)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testBatchOverOneHundredIdsIsRejected() throws Exception {
+        mockMvc.perform(post("/users/batch").contentType(MediaType.APPLICATION_JSON).content(batch(101)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors.ids").value("At most 100 user ids can be requested at once"));
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    public void testEmptyBatchIsRejected() throws Exception {
+        mockMvc.perform(post("/users/batch").contentType(MediaType.APPLICATION_JSON).content(batch(0)))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(userService);
+    }
+
+    private static String batch(int size) {
+        return IntStream.range(0, size)
+                .mapToObj(i -> "\"u" + i + "\"")
+                .collect(Collectors.joining(",", "{\"ids\":[", "]}"));
+    }
+}
@@ -0,0 +1,77 @@
+package ax.gritlab.buy_01.user.service;
+
+import ax.gritlab.buy_01.user.dto.UserProfileResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PublicProfileCacheTest {
+
+    @Test
+    public void testFillAfterEvictionIsDropped() {
+        PublicProfileCache cache = new PublicProfileCache(10, 60);
+
+        // Reader misses and starts loading, the profile is updated and evicted meanwhile
+        long loadedAt = cache.generation();
+        cache.evict("u1");
+
+        assertFalse(cache.put(profile("u1", "old name"), loadedAt));
+        assertNull(cache.get("u1"));
+
+        // The next reader loads after the eviction and may fill
+        assertTrue(cache.put(profile("u1", "new name"), cache.generation()));
+        assertEquals("new name", cache.get("u1").getName());
+    }
+
+    @Test
+    public void testEvictionRemovesEntry() {
+        PublicProfileCache cache = new PublicProfileCache(10, 60);
+        cache.put(profile("u1", "Ann"), cache.generation());
+
+        cache.evict("u1");
+
+        assertNull(cache.get("u1"));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsDroppedWhenFull() {
+        PublicProfileCache cache = new PublicProfileCache(2, 60);
+        cache.put(profile("u1", "Ann"), cache.generation());
+        cache.put(profile("u2", "Bob"), cache.generation());
+        cache.get("u1");
+        cache.put(profile("u3", "Cid"), cache.generation());
+
+        assertEquals(Map.of("u1", profile("u1", "Ann"), "u3", profile("u3", "Cid")),
+                cache.getAll(List.of("u1", "u2", "u3")));
+    }
+
+    @Test
+    public void testExpiredEntriesMiss() {
+        PublicProfileCache cache = new PublicProfileCache(10, 0);
+        cache.put(profile("u1", "Ann"), cache.generation());
+
+        // Zero TTL: the entry expires as soon as the clock moves on
+        long start = System.currentTimeMillis();
+        while (System.currentTimeMillis() == start) {
+            Thread.onSpinWait();
+        }
+        assertNull(cache.get("u1"));
+    }
+
+    @Test
+    public void testListenerEvictsOnUserEvents() {
+        PublicProfileCache cache = new PublicProfileCache(10, 60);
+        cache.put(profile("u1", "Ann"), cache.generation());
+
+        new PublicProfileCacheInvalidationListener(cache).onUserChanged(" u1 ");
+
+        assertNull(cache.get("u1"));
+    }
+
+    static UserProfileResponse profile(String id, String name) {
+        return UserProfileResponse.builder().id(id).name(name).build();
+    }
+}
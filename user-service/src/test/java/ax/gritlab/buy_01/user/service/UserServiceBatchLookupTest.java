@@ -0,0 +1,61 @@
+package ax.gritlab.buy_01.user.service;
+
+import ax.gritlab.buy_01.user.dto.UserProfileResponse;
+import ax.gritlab.buy_01.user.model.PublicUserProfile;
+import ax.gritlab.buy_01.user.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class UserServiceBatchLookupTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final PublicProfileCache cache = new PublicProfileCache(10, 60);
+    private final UserService userService = new UserService(null, userRepository, null, cache);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testResultsFollowRequestOrderWithoutDuplicatesOrUnknownIds() {
+        when(userRepository.findPublicProfilesByIdIn(any())).thenReturn(List.of(user("u3"), user("u1")));
+
+        List<UserProfileResponse> result = userService.getUsersByIds(Arrays.asList("u1", "u2", null, "u3", "u1"));
+
+        assertEquals(List.of("u1", "u3"), result.stream().map(UserProfileResponse::getId).toList());
+        ArgumentCaptor<Collection<String>> queried = ArgumentCaptor.forClass(Collection.class);
+        verify(userRepository).findPublicProfilesByIdIn(queried.capture());
+        assertEquals(List.of("u1", "u2", "u3"), List.copyOf(queried.getValue()));
+    }
+
+    @Test
+    public void testCachedProfilesAreNotQueriedAgain() {
+        cache.put(PublicProfileCacheTest.profile("u1", "cached"), cache.generation());
+        when(userRepository.findPublicProfilesByIdIn(List.of("u2"))).thenReturn(List.of(user("u2")));
+
+        List<UserProfileResponse> result = userService.getUsersByIds(List.of("u2", "u1"));
+
+        assertEquals(List.of("u2", "u1"), result.stream().map(UserProfileResponse::getId).toList());
+        assertEquals("cached", result.get(1).getName());
+        verify(userRepository).findPublicProfilesByIdIn(List.of("u2"));
+        // The loaded profile now serves the next lookup from memory
+        assertNotNull(cache.get("u2"));
+    }
+
+    @Test
+    public void testAllCachedSkipsTheQuery() {
+        cache.put(PublicProfileCacheTest.profile("u1", "Ann"), cache.generation());
+
+        assertEquals(1, userService.getUsersByIds(List.of("u1")).size());
+        verifyNoInteractions(userRepository);
+    }
+
+    private static PublicUserProfile user(String id) {
+        return PublicUserProfile.builder().id(id).name("name-" + id).build();
+    }
+}